@@ -0,0 +1,43 @@
+package com.dauphine.blogger_box_backend.benchmark;
+
+import com.dauphine.blogger_box_backend.BloggerBoxBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Starts the full application against a private in-memory H2 database, for benchmarks that go through the services.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return start(Map.of());
+    }
+
+    /**
+     * Starts the application with {@code properties} replacing the defaults, e.g. another datasource.
+     */
+    static ConfigurableApplicationContext start(Map<String, String> properties) {
+        Map<String, String> arguments = new LinkedHashMap<>();
+        arguments.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        arguments.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        arguments.put("spring.datasource.username", "sa");
+        arguments.put("spring.datasource.password", "");
+        arguments.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        arguments.put("spring.flyway.enabled", "false");
+        arguments.put("server.port", "0");
+        arguments.put("logging.level.root", "WARN");
+        arguments.put("logging.level.com.dauphine.blogger_box_backend", "WARN");
+        arguments.putAll(properties);
+        return new SpringApplicationBuilder(BloggerBoxBackendApplication.class)
+                .run(arguments.entrySet().stream()
+                        .map(argument -> "--" + argument.getKey() + "=" + argument.getValue())
+                        .toArray(String[]::new));
+    }
+}
@@ -0,0 +1,108 @@
+package com.dauphine.blogger_box_backend.benchmark;
+
+import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.search.CategoryNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type-ahead lookups in the {@link CategoryNameIndex} behind GET /v1/categories?name=, over distinct
+ * category names made of two or three words from a vocabulary of pseudo-words.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CategorySearchBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ba", "ka", "lo", "mi", "ne", "ro", "tu", "vi", "za", "po", "ler", "tan", "gor", "fi", "dul", "sem",
+            "ix", "or", "an", "pra", "sto", "qui", "bel", "mon"
+    };
+    private static final int VOCABULARY_SIZE = 5000;
+    private static final int LIMIT = 10;
+
+    @Param({"100000"})
+    private int size;
+
+    private CategoryNameIndex index;
+    private String exactName;
+    private String prefix;
+    private String substring;
+    private String misspelled;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            vocabulary[i] = word.toString();
+        }
+
+        Set<String> names = new LinkedHashSet<>();
+        while (names.size() < size) {
+            int words = 2 + random.nextInt(2);
+            StringJoiner name = new StringJoiner(" ");
+            for (int w = 0; w < words; w++) {
+                name.add(vocabulary[random.nextInt(VOCABULARY_SIZE)]);
+            }
+            names.add(name.toString());
+        }
+        List<Category> categories = names.stream().map(Category::new).toList();
+        index = new CategoryNameIndex(categories);
+
+        exactName = categories.get(size / 2).getName();
+        String word = exactName.substring(0, exactName.indexOf(' '));
+        prefix = word.substring(0, Math.min(5, word.length()));
+        substring = word.substring(1, Math.min(5, word.length()));
+        misspelled = exactName.substring(0, 2) + exactName.substring(3);
+    }
+
+    @Benchmark
+    public List<Category> shortPrefix() {
+        return index.search(prefix.substring(0, 2), LIMIT);
+    }
+
+    @Benchmark
+    public List<Category> prefix() {
+        return index.search(prefix, LIMIT);
+    }
+
+    @Benchmark
+    public List<Category> substring() {
+        return index.search(substring, LIMIT);
+    }
+
+    @Benchmark
+    public List<Category> misspelled() {
+        return index.search(misspelled, LIMIT);
+    }
+
+    @Benchmark
+    public List<Category> exactName() {
+        return index.search(exactName, LIMIT);
+    }
+}
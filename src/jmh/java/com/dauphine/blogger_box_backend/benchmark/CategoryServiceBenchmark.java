@@ -0,0 +1,63 @@
+package com.dauphine.blogger_box_backend.benchmark;
+
+import com.dauphine.blogger_box_backend.exception.CategoryNameAlreadyExistsException;
+import com.dauphine.blogger_box_backend.service.CategoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duplicate name check of {@link CategoryService#create}, which rejects the name without inserting anything.
+ * H2 has no expression indexes, so this measures the lookup without {@code uk_category_name_lower};
+ * compare against PostgreSQL for the indexed numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CategoryServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private CategoryService categoryService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        SyntheticData.insertCategories(context.getBean(JdbcTemplate.class), size);
+        categoryService = context.getBean(CategoryService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean createDuplicate() {
+        try {
+            categoryService.create(SyntheticData.categoryName(1).toUpperCase(Locale.ROOT));
+            throw new IllegalStateException("Duplicate category name was accepted");
+        } catch (CategoryNameAlreadyExistsException e) {
+            return true;
+        }
+    }
+}
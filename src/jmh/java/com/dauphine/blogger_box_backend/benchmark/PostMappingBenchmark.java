@@ -0,0 +1,47 @@
+package com.dauphine.blogger_box_backend.benchmark;
+
+import com.dauphine.blogger_box_backend.dto.PostDTO;
+import com.dauphine.blogger_box_backend.model.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link Post} to {@link PostDTO} mapping done by the controllers for every post they return.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PostMappingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Post> posts;
+
+    @Setup
+    public void setUp() {
+        posts = SyntheticData.posts(size, SyntheticData.categories(SyntheticData.CATEGORY_COUNT));
+    }
+
+    @Benchmark
+    public List<PostDTO> mapToDTOs() {
+        return posts.stream()
+                .map(PostDTO::from)
+                .toList();
+    }
+}
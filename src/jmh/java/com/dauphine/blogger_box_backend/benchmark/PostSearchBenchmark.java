@@ -0,0 +1,120 @@
+package com.dauphine.blogger_box_backend.benchmark;
+
+import com.dauphine.blogger_box_backend.dto.SearchCursor;
+import com.dauphine.blogger_box_backend.search.InMemoryPostSearchEngine;
+import com.dauphine.blogger_box_backend.service.PostSearchPage;
+import com.dauphine.blogger_box_backend.service.PostService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PostService#getPostsByTitleOrContent} against the {@code UPPER(...) LIKE '%value%'} query it replaced,
+ * over {@code size} posts, for each search engine: {@code postgres} on an embedded PostgreSQL migrated by Flyway,
+ * {@code memory} on H2. Every synthetic post holds the common term, while the rare term is the number of a single
+ * post. Both sides return a first page of the default size; LIKE pages are newest first, as the old listing was.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PostSearchBenchmark {
+
+    private static final String LIKE_QUERY = """
+            SELECT id FROM post
+            WHERE UPPER(title) LIKE UPPER('%' || ? || '%') OR UPPER(content) LIKE UPPER('%' || ? || '%')
+            ORDER BY created_date DESC, id DESC
+            LIMIT ?
+            """;
+    private static final String COMMON_TERM = "article";
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"postgres", "memory"})
+    private String engine;
+
+    @Param({"1000000"})
+    private int size;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private PostService postService;
+    private String rareTerm;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (engine.equals("postgres")) {
+            postgres = EmbeddedPostgres.start();
+            context = BenchmarkApplication.start(Map.of(
+                    "spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"),
+                    "spring.datasource.driver-class-name", "org.postgresql.Driver",
+                    "spring.datasource.username", "postgres",
+                    "spring.jpa.hibernate.ddl-auto", "validate",
+                    "spring.flyway.enabled", "true",
+                    "blogger.search.engine", "postgres"));
+        } else {
+            context = BenchmarkApplication.start(Map.of("blogger.search.engine", "memory"));
+        }
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        SyntheticData.insertPosts(jdbcTemplate, size);
+        if (postgres != null) {
+            jdbcTemplate.execute("ANALYZE");
+        } else {
+            context.getBean(InMemoryPostSearchEngine.class).rebuild();
+        }
+        postService = context.getBean(PostService.class);
+        rareTerm = String.valueOf(size / 2 + 1);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    public List<UUID> likeRareTerm() {
+        return like(rareTerm);
+    }
+
+    @Benchmark
+    public List<UUID> likeCommonTerm() {
+        return like(COMMON_TERM);
+    }
+
+    @Benchmark
+    public PostSearchPage searchRareTerm() {
+        return postService.getPostsByTitleOrContent(rareTerm, SearchCursor.FIRST, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public PostSearchPage searchCommonTerm() {
+        return postService.getPostsByTitleOrContent(COMMON_TERM, SearchCursor.FIRST, PAGE_SIZE);
+    }
+
+    private List<UUID> like(String value) {
+        return jdbcTemplate.queryForList(LIKE_QUERY, UUID.class, value, value, PAGE_SIZE + 1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.dauphine.blogger_box_backend.benchmark;
+
+import com.dauphine.blogger_box_backend.dto.PostCursor;
+import com.dauphine.blogger_box_backend.service.PostPage;
+import com.dauphine.blogger_box_backend.service.PostService;
+import com.dauphine.blogger_box_backend.service.PostSummaryPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PostService#getPostsByDate} and its summary counterpart through the repository, against an H2 database
+ * holding {@code size} posts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PostServiceBenchmark {
+
+    private static final LocalDate DAY = SyntheticData.START.toLocalDate().plusDays(180);
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        SyntheticData.insertPosts(context.getBean(JdbcTemplate.class), size);
+        postService = context.getBean(PostService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PostPage getPostsByDate() {
+        return postService.getPostsByDate(DAY, PostCursor.FIRST, null);
+    }
+
+    @Benchmark
+    public PostSummaryPage getPostSummariesByDate() {
+        return postService.getPostSummariesByDate(DAY, PostCursor.FIRST, null);
+    }
+}
@@ -0,0 +1,122 @@
+package com.dauphine.blogger_box_backend.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load test: {@code clients} concurrent clients each send GET requests back to back
+ * and the throughput and latency percentiles are printed at the end.
+ * <p>
+ * To compare execution modes, start the application against the real database once with
+ * {@code --spring.threads.virtual.enabled=false} and once with {@code true}, run this test against each,
+ * and compare the two reports. Arguments: base url, clients, duration in seconds, path.
+ */
+public final class PostsLoadTest {
+
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private PostsLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(arg(args, 0, "http://localhost:1234") + arg(args, 3, "/v1/posts?size=20"));
+        int clients = Integer.parseInt(arg(args, 1, "1000"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(arg(args, 2, "60")));
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+
+        System.out.printf("GET %s with %d clients for %s after a %s warmup%n", uri, clients, duration, WARMUP);
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+
+        List<Future<ClientResult>> futures = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> runClient(httpClient, request, measureFrom, measureUntil)));
+            }
+        }
+
+        long[] latencies = new long[0];
+        long errors = 0;
+        for (Future<ClientResult> future : futures) {
+            ClientResult result = future.get();
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + result.count);
+            System.arraycopy(result.latencies, 0, latencies, offset, result.count);
+            errors += result.errors;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("requests   %d (%d errors)%n", latencies.length, errors);
+        System.out.printf("throughput %.1f req/s%n", latencies.length / (double) duration.toSeconds());
+        System.out.printf("p50        %.1f ms%n", percentile(latencies, 0.50));
+        System.out.printf("p99        %.1f ms%n", percentile(latencies, 0.99));
+        System.out.printf("max        %.1f ms%n", percentile(latencies, 1.0));
+    }
+
+    private static ClientResult runClient(HttpClient httpClient, HttpRequest request, long measureFrom, long measureUntil) {
+        ClientResult result = new ClientResult();
+        long now = System.nanoTime();
+        while (now < measureUntil) {
+            long start = now;
+            boolean ok;
+            try {
+                ok = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                    return result;
+                }
+                ok = false;
+            }
+            now = System.nanoTime();
+            if (start >= measureFrom) {
+                result.record(now - start, ok);
+            }
+        }
+        return result;
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static String arg(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+
+    private static final class ClientResult {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private void record(long latencyNanos, boolean ok) {
+            if (!ok) {
+                errors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+    }
+}
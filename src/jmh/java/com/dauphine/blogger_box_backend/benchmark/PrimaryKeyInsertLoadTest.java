@@ -0,0 +1,104 @@
+package com.dauphine.blogger_box_backend.benchmark;
+
+import com.dauphine.blogger_box_backend.model.UuidV7;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Inserts the same number of rows into two scratch tables shaped like post, one keyed by random (version 4) UUIDs
+ * and one by time-ordered {@link UuidV7} ids, then prints the insert throughput of each and, on PostgreSQL,
+ * the size of its primary key index. Random keys land on any leaf page of the index, so once the index outgrows
+ * shared_buffers most inserts read a page from disk and split half-full pages.
+ * <p>
+ * Arguments: JDBC url, user, password, rows. Defaults to an in-memory H2 database, which only shows throughput.
+ */
+public final class PrimaryKeyInsertLoadTest {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private PrimaryKeyInsertLoadTest() {
+    }
+
+    public static void main(String[] args) throws SQLException {
+        String url = arg(args, 0, "jdbc:h2:mem:keys;DB_CLOSE_DELAY=-1");
+        int rows = Integer.parseInt(arg(args, 3, "1000000"));
+
+        Map<String, Supplier<UUID>> generators = new LinkedHashMap<>();
+        generators.put("uuid_v4", UUID::randomUUID);
+        generators.put("uuid_v7", UuidV7::generate);
+
+        try (Connection connection = DriverManager.getConnection(url, arg(args, 1, "sa"), arg(args, 2, ""))) {
+            connection.setAutoCommit(false);
+            boolean postgres = connection.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+            System.out.printf("Inserting %,d rows per table into %s%n", rows, url);
+            for (Map.Entry<String, Supplier<UUID>> generator : generators.entrySet()) {
+                String table = "key_insert_" + generator.getKey();
+                createTable(connection, table);
+                long start = System.nanoTime();
+                insert(connection, table, generator.getValue(), rows);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%-8s %,12.0f rows/s   primary key index %s%n",
+                        generator.getKey(), rows / seconds,
+                        postgres ? primaryKeySize(connection, table) : "size not available");
+                dropTable(connection, table);
+            }
+        }
+    }
+
+    private static void createTable(Connection connection, String table) throws SQLException {
+        dropTable(connection, table);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + table
+                    + " (id UUID PRIMARY KEY, title VARCHAR(255), created_date TIMESTAMP)");
+        }
+        connection.commit();
+    }
+
+    private static void insert(Connection connection, String table, Supplier<UUID> ids, int rows)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, title, created_date) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                statement.setObject(1, ids.get());
+                statement.setString(2, "Post number " + i);
+                statement.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+                statement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0 || i == rows - 1) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    private static String primaryKeySize(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT pg_size_pretty(pg_relation_size('" + table + "_pkey'))")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static void dropTable(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+        }
+        connection.commit();
+    }
+
+    private static String arg(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+}
@@ -0,0 +1,104 @@
+package com.dauphine.blogger_box_backend.benchmark;
+
+import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.model.Post;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic posts and categories shared by the benchmarks.
+ * Posts are spread evenly over one year starting at {@link #START}, so a single day holds about size / 365 posts.
+ */
+final class SyntheticData {
+
+    static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    static final int CATEGORY_COUNT = 50;
+
+    private static final long YEAR_IN_SECONDS = 365L * 24 * 60 * 60;
+    private static final int INSERT_CHUNK = 10_000;
+
+    private SyntheticData() {
+    }
+
+    static List<Category> categories(int count) {
+        List<Category> categories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            categories.add(new Category(categoryName(i)));
+        }
+        return categories;
+    }
+
+    static List<Post> posts(int count, List<Category> categories) {
+        Random random = new Random(42);
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Post post = new Post(title(i), content(i), categories.get(random.nextInt(categories.size())));
+            post.setCreatedDate(createdDate(i, count));
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    static String categoryName(int i) {
+        return "Category " + i;
+    }
+
+    /**
+     * Inserts {@code postCount} posts spread over {@link #CATEGORY_COUNT} categories with plain JDBC batches,
+     * bypassing the services so that setup time stays reasonable for a million rows.
+     */
+    static void insertPosts(JdbcTemplate jdbcTemplate, int postCount) {
+        List<UUID> categoryIds = insertCategories(jdbcTemplate, CATEGORY_COUNT);
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(INSERT_CHUNK);
+        for (int i = 0; i < postCount; i++) {
+            Timestamp createdDate = Timestamp.valueOf(createdDate(i, postCount));
+            rows.add(new Object[]{UUID.randomUUID(), title(i), content(i), createdDate, createdDate,
+                    categoryIds.get(random.nextInt(categoryIds.size()))});
+            if (rows.size() == INSERT_CHUNK || i == postCount - 1) {
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO post (id, title, content, created_date, updated_date, version, category_id)
+                        VALUES (?, ?, ?, ?, ?, 0, ?)
+                        """, rows);
+                rows.clear();
+            }
+        }
+    }
+
+    static List<UUID> insertCategories(JdbcTemplate jdbcTemplate, int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        List<Object[]> rows = new ArrayList<>(INSERT_CHUNK);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            rows.add(new Object[]{id, categoryName(i), now});
+            if (rows.size() == INSERT_CHUNK || i == count - 1) {
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO category (id, name, updated_date, version)
+                        VALUES (?, ?, ?, 0)
+                        """, rows);
+                rows.clear();
+            }
+        }
+        return ids;
+    }
+
+    private static LocalDateTime createdDate(int i, int count) {
+        return START.plusSeconds(YEAR_IN_SECONDS * i / count);
+    }
+
+    private static String title(int i) {
+        return "Post number " + i;
+    }
+
+    private static String content(int i) {
+        return "Synthetic content for post " + i + ", long enough to look like the first lines of a real article.";
+    }
+}
@@ -0,0 +1,20 @@
+package com.dauphine.blogger_box_backend.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache invalidations to every backend node, including the publishing one.
+ * The implementation is selected with {@code blogger.cache.invalidation} ({@code local} or {@code postgres}).
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Invalidates {@code key} in the named cache on every node, or the whole cache when {@code key} is null.
+     */
+    void publish(String cacheName, String key);
+
+    /**
+     * Registers a listener receiving the invalidated key, or null for "everything".
+     */
+    void subscribe(String cacheName, Consumer<String> listener);
+}
@@ -0,0 +1,22 @@
+package com.dauphine.blogger_box_backend.cache;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A serialized 200 response, with its gzip encoding when the body is large enough to be worth compressing.
+ * {@code postId} is the post the response shows, or null for a listing.
+ */
+public record CachedResponse(UUID postId,
+                             String pathPattern,
+                             String contentType,
+                             Map<String, String> headers,
+                             String etag,
+                             long lastModified,
+                             byte[] body,
+                             byte[] gzipBody) {
+
+    int weight() {
+        return body.length + (gzipBody == null ? 0 : gzipBody.length);
+    }
+}
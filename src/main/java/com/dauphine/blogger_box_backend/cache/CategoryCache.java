@@ -0,0 +1,98 @@
+package com.dauphine.blogger_box_backend.cache;
+
+import com.dauphine.blogger_box_backend.config.PrimaryReads;
+import com.dauphine.blogger_box_backend.model.Category;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of categories by id and of the full category list.
+ * Evictions go through the {@link CacheInvalidationBus} so every node drops its copy. Inside a transaction they
+ * wait for the commit, so a concurrent read cannot cache the state being replaced, and loads read from the primary,
+ * never from a read replica that may not have the change yet.
+ * Hit/miss counters are published as the {@code cache.*} metrics tagged {@code cache=categories}.
+ */
+@Component
+public class CategoryCache {
+
+    public static final String NAME = "categories";
+
+    private static final String ALL = "all";
+
+    private final Cache<UUID, Category> byId;
+    private final Cache<String, List<Category>> all;
+    private final CacheInvalidationBus invalidationBus;
+
+    public CategoryCache(CacheInvalidationBus invalidationBus,
+                         MeterRegistry meterRegistry,
+                         @Value("${blogger.cache.categories.maximum-size:10000}") long maximumSize,
+                         @Value("${blogger.cache.categories.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.invalidationBus = invalidationBus;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.all = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, all, NAME + "-all");
+        invalidationBus.subscribe(NAME, this::evictLocally);
+    }
+
+    /**
+     * Returns the cached category, loading it on a miss. Absent categories are not cached.
+     */
+    public Optional<Category> get(UUID id, Function<UUID, Optional<Category>> loader) {
+        return Optional.ofNullable(byId.get(id, key -> PrimaryReads.call(() -> loader.apply(key)).orElse(null)));
+    }
+
+    /**
+     * Returns the cached categories among {@code ids}, loading all the missing ones with a single loader call.
+     */
+    public Map<UUID, Category> getAll(Collection<UUID> ids, Function<Set<UUID>, Map<UUID, Category>> loader) {
+        return byId.getAll(ids, missing -> PrimaryReads.call(() -> loader.apply(Set.copyOf(missing))));
+    }
+
+    public List<Category> getAll(Supplier<List<Category>> loader) {
+        return all.get(ALL, key -> List.copyOf(PrimaryReads.call(loader)));
+    }
+
+    /**
+     * Drops the category and the full list on every node, once the current transaction commits.
+     */
+    public void evict(UUID id) {
+        TransactionCallbacks.afterCommit(() -> invalidationBus.publish(NAME, id.toString()));
+    }
+
+    public void evictAll() {
+        TransactionCallbacks.afterCommit(() -> invalidationBus.publish(NAME, null));
+    }
+
+    private void evictLocally(String key) {
+        if (key == null) {
+            byId.invalidateAll();
+        } else {
+            byId.invalidate(UUID.fromString(key));
+        }
+        all.invalidateAll();
+    }
+}
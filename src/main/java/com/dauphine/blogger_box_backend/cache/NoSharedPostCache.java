@@ -0,0 +1,35 @@
+package com.dauphine.blogger_box_backend.cache;
+
+import com.dauphine.blogger_box_backend.model.Post;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * No shared level: every node loads its posts from the database.
+ */
+@Component
+@ConditionalOnProperty(name = "blogger.cache.posts.shared", havingValue = "none", matchIfMissing = true)
+public class NoSharedPostCache implements SharedPostCache {
+
+    @Override
+    public Optional<Post> get(UUID id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public long generation(UUID id) {
+        return 0;
+    }
+
+    @Override
+    public void put(Post post, long generation) {
+    }
+
+    @Override
+    public void evict(Collection<UUID> ids) {
+    }
+}
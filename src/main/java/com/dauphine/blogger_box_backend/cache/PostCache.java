@@ -0,0 +1,134 @@
+package com.dauphine.blogger_box_backend.cache;
+
+import com.dauphine.blogger_box_backend.config.PrimaryReads;
+import com.dauphine.blogger_box_backend.model.Post;
+import com.dauphine.blogger_box_backend.repository.PostRepository;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Posts by id, on two levels: an in-heap cache bounded by entry count, whose W-TinyLFU eviction keeps frequently
+ * read posts over one-off reads, in front of the {@link SharedPostCache}. It serves the misses of the
+ * {@link PostResponseCache}, which come in bursts for a popular post each time its responses are evicted:
+ * <ul>
+ *     <li>concurrent misses on a post wait for a single load instead of each querying the database;</li>
+ *     <li>a post still read once older than {@code refresh-after-write} is reloaded from the database in the
+ *     background while readers keep getting the current copy, so popular posts never expire under load;</li>
+ *     <li>evictions wait for the commit and go through the {@link CacheInvalidationBus}, so every node drops its
+ *     copy. A load in progress on the node is dropped too, as the eviction waits for it to complete.</li>
+ *     <li>loads read from the primary, never from a read replica that may not have the change yet.</li>
+ * </ul>
+ * Absent posts are not cached. Cached instances are shared and must not be modified; their category is only
+ * known by its id.
+ */
+@Component
+public class PostCache {
+
+    public static final String NAME = "posts";
+
+    private static final String KEY_SEPARATOR = ",";
+    // Keeps an invalidation within the 8000 bytes of a PostgreSQL notification.
+    private static final int IDS_PER_INVALIDATION = 100;
+
+    private final LoadingCache<UUID, Post> posts;
+    private final PostRepository repository;
+    private final SharedPostCache sharedCache;
+    private final CacheInvalidationBus invalidationBus;
+
+    public PostCache(PostRepository repository,
+                     SharedPostCache sharedCache,
+                     CacheInvalidationBus invalidationBus,
+                     MeterRegistry meterRegistry,
+                     @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                     @Value("${blogger.cache.posts.maximum-size:10000}") long maximumSize,
+                     @Value("${blogger.cache.posts.expire-after-write:10m}") Duration expireAfterWrite,
+                     @Value("${blogger.cache.posts.refresh-after-write:1m}") Duration refreshAfterWrite) {
+        this.repository = repository;
+        this.sharedCache = sharedCache;
+        this.invalidationBus = invalidationBus;
+        this.posts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .executor(taskExecutor)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Post load(UUID id) {
+                        return sharedCache.get(id).orElseGet(() -> loadFromDatabase(id));
+                    }
+
+                    // The shared level may hold the very copy being refreshed.
+                    @Override
+                    public Post reload(UUID id, Post oldPost) {
+                        return loadFromDatabase(id);
+                    }
+                });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, posts, NAME);
+        invalidationBus.subscribe(NAME, this::evictLocally);
+    }
+
+    /**
+     * Returns the cached post, loading it on a miss.
+     */
+    public Optional<Post> get(UUID id) {
+        return Optional.ofNullable(posts.get(id));
+    }
+
+    public void evict(UUID id) {
+        evict(List.of(id));
+    }
+
+    /**
+     * Drops the posts from both levels on every node, once the current transaction commits.
+     */
+    public void evict(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<UUID> evicted = List.copyOf(ids);
+        TransactionCallbacks.afterCommit(() -> {
+            sharedCache.evict(evicted);
+            // Keys rather than a full invalidation, which would not wait for the loads in progress.
+            for (int from = 0; from < evicted.size(); from += IDS_PER_INVALIDATION) {
+                List<UUID> group = evicted.subList(from, Math.min(from + IDS_PER_INVALIDATION, evicted.size()));
+                invalidationBus.publish(NAME, group.stream().map(UUID::toString).collect(Collectors.joining(KEY_SEPARATOR)));
+            }
+        });
+    }
+
+    private Post loadFromDatabase(UUID id) {
+        // Read first: a change committing during the load evicts afterwards, and the stale post is not stored.
+        long generation = sharedCache.generation(id);
+        Post post = PrimaryReads.call(() -> repository.findById(id)).orElse(null);
+        if (post != null) {
+            sharedCache.put(post, generation);
+        }
+        return post;
+    }
+
+    private void evictLocally(String key) {
+        if (key == null) {
+            posts.invalidateAll();
+            return;
+        }
+        for (String id : key.split(KEY_SEPARATOR)) {
+            posts.invalidate(UUID.fromString(id));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.dauphine.blogger_box_backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized responses of the post read endpoints, keyed by path and query parameters.
+ * Any post change drops every listing and the responses showing that post, on every node through the
+ * {@link CacheInvalidationBus}. Inside a transaction the eviction waits for the commit, so a concurrent
+ * read cannot cache the state being replaced. The size bound is in bytes of cached bodies.
+ */
+@Component
+public class PostResponseCache {
+
+    public static final String NAME = "post-responses";
+
+    private final Cache<String, CachedResponse> responses;
+    private final CacheInvalidationBus invalidationBus;
+    private final AtomicLong generation = new AtomicLong();
+    // Starts as if just evicted: changes made before this node started may not have reached the replicas yet.
+    private volatile long lastEviction = System.nanoTime();
+
+    public PostResponseCache(CacheInvalidationBus invalidationBus,
+                             MeterRegistry meterRegistry,
+                             @Value("${blogger.cache.post-responses.maximum-size:64MB}") DataSize maximumSize,
+                             @Value("${blogger.cache.post-responses.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.invalidationBus = invalidationBus;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((String key, CachedResponse response) -> response.weight())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, NAME);
+        invalidationBus.subscribe(NAME, this::evictLocally);
+    }
+
+    public CachedResponse get(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    /**
+     * Changes every time responses are evicted. Read it before building a response and pass it to
+     * {@link #put}, which then drops the response if an eviction happened in between.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Whether responses were evicted less than {@code duration} ago, that is whether a read replica may still
+     * miss the change behind the eviction.
+     */
+    public boolean evictedWithin(Duration duration) {
+        return System.nanoTime() - lastEviction < duration.toNanos();
+    }
+
+    public void put(String key, CachedResponse response, long generation) {
+        responses.put(key, response);
+        // An eviction increments the generation before removing entries: either it removes this one,
+        // or the generation has already moved and this one is removed here.
+        if (this.generation.get() != generation) {
+            responses.invalidate(key);
+        }
+    }
+
+    /**
+     * Drops the listings and the responses showing the post on every node, once the current transaction commits.
+     */
+    public void evict(UUID postId) {
+        TransactionCallbacks.afterCommit(() -> invalidationBus.publish(NAME, postId.toString()));
+    }
+
+    public void evictAll() {
+        TransactionCallbacks.afterCommit(() -> invalidationBus.publish(NAME, null));
+    }
+
+    private void evictLocally(String key) {
+        lastEviction = System.nanoTime();
+        generation.incrementAndGet();
+        if (key == null) {
+            responses.invalidateAll();
+            return;
+        }
+        // Writes are rare next to reads, so scanning the entries beats maintaining a post-to-keys index.
+        UUID postId = UUID.fromString(key);
+        responses.asMap().values().removeIf(response -> response.postId() == null || postId.equals(response.postId()));
+    }
+}
@@ -0,0 +1,109 @@
+package com.dauphine.blogger_box_backend.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Multi-node bus over PostgreSQL LISTEN/NOTIFY. A notification sent inside a transaction is only
+ * delivered when it commits, so other nodes never evict before the change is visible to them.
+ * The listener keeps one connection of the pool for itself.
+ */
+@Component
+@ConditionalOnProperty(name = "blogger.cache.invalidation", havingValue = "postgres")
+public class PostgresCacheInvalidationBus extends LocalCacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresCacheInvalidationBus.class);
+
+    private static final String CHANNEL = "blogger_cache_invalidation";
+    private static final String SEPARATOR = ":";
+    private static final String ALL_KEYS = "*";
+    private static final int POLL_TIMEOUT_MS = 1000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresCacheInvalidationBus(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .name("cache-invalidation-listener")
+                .daemon()
+                .start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        listenerThread.interrupt();
+    }
+
+    @Override
+    public void publish(String cacheName, String key) {
+        // Evict locally right away; our own notification comes back later and is harmless.
+        dispatch(cacheName, key);
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, cacheName + SEPARATOR + (key == null ? ALL_KEYS : key));
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                // Notifications may have been missed while disconnected.
+                dispatchToAll();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            onNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    logger.warn("[CACHE] Invalidation listener disconnected, retrying in {} ms: {}",
+                            RECONNECT_DELAY_MS, e.getMessage());
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void onNotification(String payload) {
+        int separator = payload.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return;
+        }
+        String key = payload.substring(separator + 1);
+        dispatch(payload.substring(0, separator), ALL_KEYS.equals(key) ? null : key);
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
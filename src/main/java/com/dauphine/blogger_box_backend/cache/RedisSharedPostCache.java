@@ -0,0 +1,178 @@
+package com.dauphine.blogger_box_backend.cache;
+
+import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.model.Post;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Shared level on Redis: each post is stored as JSON under {@code blogger:post:<id>} for
+ * {@code blogger.cache.posts.shared-expire-after-write}. Stores are sent without waiting for the reply; evictions
+ * wait for it, so the nodes told to evict next cannot read the entry back from Redis. Commands fail after
+ * {@code blogger.cache.posts.redis-timeout}, and at once while disconnected, so a slow or unavailable Redis
+ * costs reads little more than a miss.
+ * <p>
+ * Evictions also increment a counter under {@code blogger:post-generation:<id>}, and a store only happens, in a
+ * script, while the counter is still the one read before loading the post: a store of a post read before a change
+ * committed, landing after the eviction of that change, is dropped rather than kept and spread to every node.
+ */
+@Component
+@ConditionalOnProperty(name = "blogger.cache.posts.shared", havingValue = "redis")
+public class RedisSharedPostCache implements SharedPostCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisSharedPostCache.class);
+
+    private static final String KEY_PREFIX = "blogger:post:";
+    private static final String GENERATION_KEY_PREFIX = "blogger:post-generation:";
+
+    // KEYS: post, generation; ARGV: expected generation, JSON, seconds to live.
+    private static final String PUT_SCRIPT = """
+            if tonumber(redis.call('GET', KEYS[2]) or '0') ~= tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+            return 1
+            """;
+
+    // KEYS: post and generation of each post; ARGV: seconds to live of the generations.
+    private static final String EVICT_SCRIPT = """
+            for i = 1, #KEYS, 2 do
+                redis.call('DEL', KEYS[i])
+                redis.call('INCR', KEYS[i + 1])
+                redis.call('EXPIRE', KEYS[i + 1], ARGV[1])
+            end
+            return #KEYS / 2
+            """;
+
+    private final RedisClient client;
+    private final StatefulRedisConnection<String, String> connection;
+    private final ObjectMapper objectMapper;
+    private final long expireAfterWriteSeconds;
+
+    public RedisSharedPostCache(ObjectMapper objectMapper,
+                                @Value("${blogger.cache.posts.redis-url:redis://localhost:6379}") String url,
+                                @Value("${blogger.cache.posts.redis-timeout:100ms}") Duration timeout,
+                                @Value("${blogger.cache.posts.shared-expire-after-write:10m}") Duration expireAfterWrite) {
+        this.client = RedisClient.create(RedisURI.create(url));
+        client.setOptions(ClientOptions.builder()
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build());
+        this.connection = client.connect();
+        // Set once connected: the connection handshake keeps the default timeout.
+        connection.setTimeout(timeout);
+        this.objectMapper = objectMapper;
+        this.expireAfterWriteSeconds = expireAfterWrite.toSeconds();
+    }
+
+    @PreDestroy
+    public void close() {
+        connection.close();
+        client.shutdown();
+    }
+
+    @Override
+    public Optional<Post> get(UUID id) {
+        try {
+            String json = connection.sync().get(key(id));
+            return json == null ? Optional.empty() : Optional.of(objectMapper.readValue(json, CachedPost.class).toPost());
+        } catch (RedisException | JsonProcessingException e) {
+            logger.warn("[CACHE] Shared read of post {} failed: {}", id, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns -1 when Redis cannot be read, which no counter matches: the post is then not stored.
+     */
+    @Override
+    public long generation(UUID id) {
+        try {
+            String generation = connection.sync().get(generationKey(id));
+            return generation == null ? 0 : Long.parseLong(generation);
+        } catch (RedisException | NumberFormatException e) {
+            logger.warn("[CACHE] Shared generation read of post {} failed: {}", id, e.getMessage());
+            return -1;
+        }
+    }
+
+    @Override
+    public void put(Post post, long generation) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(CachedPost.from(post));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        connection.async().<Long>eval(PUT_SCRIPT, ScriptOutputType.INTEGER,
+                        new String[]{key(post.getId()), generationKey(post.getId())},
+                        Long.toString(generation), json, Long.toString(expireAfterWriteSeconds))
+                .whenComplete((reply, e) -> {
+                    if (e != null) {
+                        logger.warn("[CACHE] Shared write of post {} failed: {}", post.getId(), e.getMessage());
+                    }
+                });
+    }
+
+    @Override
+    public void evict(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String[] keys = ids.stream()
+                .flatMap(id -> Stream.of(key(id), generationKey(id)))
+                .toArray(String[]::new);
+        try {
+            // The generations live as long as the entries, so a load cannot outlast them.
+            connection.sync().eval(EVICT_SCRIPT, ScriptOutputType.INTEGER, keys, Long.toString(expireAfterWriteSeconds));
+        } catch (RedisException e) {
+            // Entries left behind expire, or are replaced by the next refresh of a node reading them.
+            logger.warn("[CACHE] Shared eviction of {} posts failed: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    private static String key(UUID id) {
+        return KEY_PREFIX + id;
+    }
+
+    private static String generationKey(UUID id) {
+        return GENERATION_KEY_PREFIX + id;
+    }
+
+    record CachedPost(UUID id, String title, String content, LocalDateTime createdDate, LocalDateTime updatedDate,
+                      Long version, UUID categoryId) {
+
+        static CachedPost from(Post post) {
+            return new CachedPost(post.getId(), post.getTitle(), post.getContent(), post.getCreatedDate(),
+                    post.getUpdatedDate(), post.getVersion(),
+                    post.getCategory() == null ? null : post.getCategory().getId());
+        }
+
+        Post toPost() {
+            Category category = null;
+            if (categoryId != null) {
+                category = new Category();
+                category.setId(categoryId);
+            }
+            return new Post(id, title, content, createdDate, updatedDate, version, category);
+        }
+    }
+}
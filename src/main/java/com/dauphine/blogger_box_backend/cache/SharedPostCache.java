@@ -0,0 +1,30 @@
+package com.dauphine.blogger_box_backend.cache;
+
+import com.dauphine.blogger_box_backend.model.Post;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Second level of the {@link PostCache}, shared by every backend node, so a post loaded by one node is not loaded
+ * again by the others. The implementation is selected with {@code blogger.cache.posts.shared} ({@code none} or
+ * {@code redis}). It is a cache only: failures are reported as misses, never to the reader.
+ */
+public interface SharedPostCache {
+
+    /**
+     * Returns the stored copy of the post. Only the id of its category is known.
+     */
+    Optional<Post> get(UUID id);
+
+    /**
+     * Changes every time the post is evicted. Read it before loading the post from the database and pass it to
+     * {@link #put}, which then drops the post if an eviction happened in between.
+     */
+    long generation(UUID id);
+
+    void put(Post post, long generation);
+
+    void evict(Collection<UUID> ids);
+}
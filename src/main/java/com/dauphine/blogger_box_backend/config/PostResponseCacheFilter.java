@@ -0,0 +1,212 @@
+package com.dauphine.blogger_box_backend.config;
+
+import com.dauphine.blogger_box_backend.cache.CachedResponse;
+import com.dauphine.blogger_box_backend.cache.PostResponseCache;
+import com.dauphine.blogger_box_backend.dto.PostCursor;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves GET /v1/posts and GET /v1/posts/{id} from the {@link PostResponseCache}: a hit writes the stored
+ * bytes, gzip-encoded when the client accepts it, without touching the database or Jackson. A miss runs the
+ * controller and stores its 200 JSON response. Conditional requests are answered from the stored validators.
+ * <p>
+ * With read replicas, a miss reads from a replica like any other request, unless its client just wrote (see
+ * {@link ReadYourWritesFilter}) or responses were evicted less than {@code max-lag} ago: the replica may not have
+ * the change behind the eviction yet, and the stale response it builds would stay cached, since nothing evicts it
+ * again. Those misses read from the primary.
+ * Runs after the CORS filter, so hits carry the same CORS headers as misses.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class PostResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern CACHED_PATH = Pattern.compile("/v1/posts(?:/([0-9a-fA-F-]{36}))?");
+    private static final List<String> CACHED_HEADERS = List.of(HttpHeaders.CACHE_CONTROL, PostCursor.NEXT_CURSOR_HEADER);
+    private static final String GZIP = "gzip";
+
+    private final PostResponseCache cache;
+    private final int compressionMinSize;
+    private final Duration maxLag;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public PostResponseCacheFilter(PostResponseCache cache,
+                                   @Value("${server.compression.min-response-size:2KB}") DataSize compressionMinSize,
+                                   @Value("${blogger.datasource.replicas.max-lag:5s}") Duration maxLag) {
+        this.cache = cache;
+        this.compressionMinSize = (int) compressionMinSize.toBytes();
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || !CACHED_PATH.matcher(urlPathHelper.getPathWithinApplication(request)).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        String key = key(path, request);
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            serve(cached, request, response);
+            return;
+        }
+
+        long generation = cache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean primaryReads = cache.evictedWithin(maxLag);
+        if (primaryReads) {
+            PrimaryReads.open();
+        }
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            if (primaryReads) {
+                PrimaryReads.close();
+            }
+        }
+
+        CachedResponse built = isCacheable(wrapper) ? build(path, request, wrapper) : null;
+        if (built == null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        cache.put(key, built, generation);
+        writeBody(built, request, response);
+    }
+
+    private static boolean isCacheable(ContentCachingResponseWrapper response) {
+        return response.getStatus() == HttpServletResponse.SC_OK
+                && response.getContentType() != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(response.getContentType()))
+                && response.getHeader(HttpHeaders.ETAG) != null;
+    }
+
+    private CachedResponse build(String path, HttpServletRequest request, ContentCachingResponseWrapper response)
+            throws IOException {
+        Matcher matcher = CACHED_PATH.matcher(path);
+        UUID postId = matcher.matches() && matcher.group(1) != null ? UUID.fromString(matcher.group(1)) : null;
+        Object pathPattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : CACHED_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        String lastModified = response.getHeader(HttpHeaders.LAST_MODIFIED);
+
+        byte[] body = response.getContentAsByteArray();
+        return new CachedResponse(
+                postId,
+                pathPattern == null ? null : pathPattern.toString(),
+                response.getContentType(),
+                headers,
+                response.getHeader(HttpHeaders.ETAG),
+                lastModified == null
+                        ? -1
+                        : ZonedDateTime.parse(lastModified, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli(),
+                body,
+                body.length >= compressionMinSize ? gzip(body) : null);
+    }
+
+    private void serve(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (cached.pathPattern() != null) {
+            // Tag metrics and logs of hits with the endpoint, as if the handler had run.
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, cached.pathPattern());
+            ServerHttpObservationFilter.findObservationContext(request)
+                    .ifPresent(context -> context.setPathPattern(cached.pathPattern()));
+        }
+        cached.headers().forEach(response::setHeader);
+        if (new ServletWebRequest(request, response).checkNotModified(cached.etag(), cached.lastModified())) {
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        writeBody(cached, request, response);
+    }
+
+    private static void writeBody(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        byte[] body = cached.body();
+        if (cached.gzipBody() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(request)) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+                body = cached.gzipBody();
+            }
+        }
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Request path followed by the query parameters sorted by name, so parameter order does not split entries.
+     */
+    private static String key(String path, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(path);
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            for (String value : values) {
+                key.append(key.length() == path.length() ? '?' : '&').append(name).append('=').append(value);
+            }
+        });
+        return key.toString();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+}
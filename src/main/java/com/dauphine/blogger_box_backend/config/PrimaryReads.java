@@ -0,0 +1,39 @@
+package com.dauphine.blogger_box_backend.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends the reads of the current thread to the primary while a scope is open, when read replicas are configured.
+ * Caches fill through it: an entry read from a lagging replica would miss a change whose eviction has already
+ * happened, and nothing would evict it again. Only connections taken while the scope is open are affected.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        open();
+        try {
+            return reads.get();
+        } finally {
+            close();
+        }
+    }
+
+    static void open() {
+        DEPTH.get()[0]++;
+    }
+
+    static void close() {
+        if (--DEPTH.get()[0] == 0) {
+            DEPTH.remove();
+        }
+    }
+
+    static boolean isActive() {
+        return DEPTH.get()[0] > 0;
+    }
+}
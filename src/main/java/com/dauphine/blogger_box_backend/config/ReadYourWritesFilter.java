@@ -0,0 +1,56 @@
+package com.dauphine.blogger_box_backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Runs each request in a writer scope of the {@link ReplicaRoutingDataSource}, so that only the client that wrote
+ * reads from the primary afterwards. A request that writes sets a cookie living {@code max-lag}; the requests that
+ * carry it, on any node, read from the primary too. Clients that do not keep cookies may read their writes late.
+ */
+@Component
+@ConditionalOnProperty(name = "blogger.datasource.replicas.urls")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String WROTE_COOKIE = "blogger-wrote";
+
+    private final ReplicaRoutingDataSource dataSource;
+    private final int maxLagSeconds;
+
+    public ReadYourWritesFilter(ReplicaRoutingDataSource dataSource,
+                                @Value("${blogger.datasource.replicas.max-lag:5s}") Duration maxLag) {
+        this.dataSource = dataSource;
+        this.maxLagSeconds = (int) Math.max(1, (maxLag.toMillis() + 999) / 1000);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean wroteRecently = WebUtils.getCookie(request, WROTE_COOKIE) != null;
+        dataSource.openWriterScope(wroteRecently, () -> response.addCookie(wroteCookie(request)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            dataSource.closeWriterScope();
+        }
+    }
+
+    private Cookie wroteCookie(HttpServletRequest request) {
+        Cookie cookie = new Cookie(WROTE_COOKIE, "1");
+        cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+        cookie.setMaxAge(maxLagSeconds);
+        cookie.setHttpOnly(true);
+        return cookie;
+    }
+}
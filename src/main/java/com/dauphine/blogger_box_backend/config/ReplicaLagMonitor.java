@@ -0,0 +1,35 @@
+package com.dauphine.blogger_box_backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the replica routing current: measures the replica lag periodically, exported as
+ * {@code blogger.datasource.replica.lag}.
+ */
+@Component
+@ConditionalOnProperty(name = "blogger.datasource.replicas.urls")
+public class ReplicaLagMonitor {
+
+    private final ReplicaRoutingDataSource dataSource;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource dataSource, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        for (String replica : dataSource.getReplicaNames()) {
+            Gauge.builder("blogger.datasource.replica.lag", dataSource, source -> source.getLagSeconds(replica))
+                    .description("Replication lag of the read replica at the last check")
+                    .baseUnit("seconds")
+                    .tag("replica", replica)
+                    .register(meterRegistry);
+        }
+        dataSource.checkLag();
+    }
+
+    @Scheduled(fixedDelayString = "${blogger.datasource.replicas.lag-check-interval:5s}")
+    public void checkLag() {
+        dataSource.checkLag();
+    }
+}
@@ -0,0 +1,181 @@
+package com.dauphine.blogger_box_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the read replicas, round-robin, and everything else to the primary.
+ * <p>
+ * The transaction flags are only known once the transaction has started, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which fetches the connection at the
+ * first statement. Replicas lagging more than {@code maxLag} behind, or unreachable, at the last
+ * {@link #checkLag()} are skipped; without any replica left, reads go to the primary.
+ * <p>
+ * Reads go to the primary too inside {@link PrimaryReads}, and for the writer of a change, so that a client reading
+ * right after its write sees it: a read-write transaction taking its connection inside a writer scope, opened for
+ * each request by {@link ReadYourWritesFilter}, fences the reads of that scope for {@code maxLag}. The fence is
+ * raised before the change commits, hence before any cache eviction it triggers, and the reads of other clients
+ * keep using the replicas.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<WriterScope> WRITER_SCOPE = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> availableReplicas;
+
+    /**
+     * @param replicas replicas by name, in a stable iteration order
+     * @param lagQuery query run on a replica, returning how many seconds it is behind the primary
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag, String lagQuery) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.availableReplicas = List.copyOf(replicas.keySet());
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            fencePrimary();
+            return PRIMARY;
+        }
+        if (PrimaryReads.isActive() || isFenced()) {
+            return PRIMARY;
+        }
+        List<String> candidates = availableReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Opens the writer scope of the current thread, closed by {@link #closeWriterScope()}. {@code wroteRecently}
+     * fences its reads from the start, for a client that wrote less than {@code maxLag} ago; {@code onFence} runs
+     * when the scope itself writes, so that the client can tell the next request.
+     */
+    public void openWriterScope(boolean wroteRecently, Runnable onFence) {
+        WRITER_SCOPE.set(new WriterScope(wroteRecently ? System.nanoTime() + maxLag.toNanos() : null, onFence));
+    }
+
+    public void closeWriterScope() {
+        WRITER_SCOPE.remove();
+    }
+
+    /**
+     * Sends the reads of the current writer scope to the primary for the next {@code maxLag}, the time a replica
+     * may take to catch up with a write. Does nothing outside a writer scope, where no client reads the write back.
+     */
+    public void fencePrimary() {
+        WriterScope scope = WRITER_SCOPE.get();
+        if (scope == null) {
+            return;
+        }
+        scope.primaryUntil = System.nanoTime() + maxLag.toNanos();
+        if (!scope.wrote) {
+            scope.wrote = true;
+            scope.onFence.run();
+        }
+    }
+
+    private static boolean isFenced() {
+        WriterScope scope = WRITER_SCOPE.get();
+        return scope != null && scope.primaryUntil != null && System.nanoTime() - scope.primaryUntil < 0;
+    }
+
+    /**
+     * Measures the lag of every replica and keeps those within {@code maxLag}.
+     */
+    public void checkLag() {
+        List<String> available = replicas.entrySet().stream()
+                .filter(replica -> isWithinMaxLag(replica.getKey(), replica.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!available.equals(availableReplicas)) {
+            logger.info("Read replicas in use: {} of {}", available, replicas.keySet());
+        }
+        availableReplicas = available;
+    }
+
+    /**
+     * Seconds the replica was behind at the last check, or NaN when it could not be reached.
+     */
+    public double getLagSeconds(String replica) {
+        return lagSeconds.getOrDefault(replica, Double.NaN);
+    }
+
+    public List<String> getReplicaNames() {
+        return List.copyOf(replicas.keySet());
+    }
+
+    private boolean isWithinMaxLag(String name, DataSource replica) {
+        try {
+            Double lag = new JdbcTemplate(replica).queryForObject(lagQuery, Double.class);
+            double seconds = lag == null ? 0 : lag;
+            lagSeconds.put(name, seconds);
+            return seconds * 1000 <= maxLag.toMillis();
+        } catch (RuntimeException e) {
+            logger.warn("Lag check failed on read replica {}: {}", name, e.getMessage());
+            lagSeconds.put(name, Double.NaN);
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (DataSource dataSource : replicas.values()) {
+            close(dataSource);
+        }
+        close(primary);
+    }
+
+    private static void close(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class WriterScope {
+
+        private final Runnable onFence;
+        private Long primaryUntil;
+        private boolean wrote;
+
+        private WriterScope(Long primaryUntil, Runnable onFence) {
+            this.primaryUntil = primaryUntil;
+            this.onFence = onFence;
+        }
+    }
+}
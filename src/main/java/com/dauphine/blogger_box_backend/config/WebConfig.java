@@ -1,30 +1,65 @@
 package com.dauphine.blogger_box_backend.config;
 
+import com.dauphine.blogger_box_backend.dto.PostCursor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
 @EnableWebMvc
 public class WebConfig implements WebMvcConfigurer {
 
+    private final AsyncTaskExecutor taskExecutor;
+    private final Duration asyncTimeout;
+
+    public WebConfig(@Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                     @Value("${blogger.web.async-timeout:30m}") Duration asyncTimeout) {
+        this.taskExecutor = taskExecutor;
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    /**
+     * Streaming responses (exports) run on the application task executor and may take
+     * much longer than the servlet container's default async timeout.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(taskExecutor);
+        configurer.setDefaultTimeout(asyncTimeout.toMillis());
+    }
+
+    /**
+     * Ordered right after the correlation filter so that filters answering requests themselves,
+     * such as {@link PostResponseCacheFilter}, still send CORS headers.
+     */
     @Bean
-    public CorsFilter corsFilter() {
+    public FilterRegistrationBean<CorsFilter> corsFilter() {
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         CorsConfiguration config = new CorsConfiguration();
 
         config.setAllowCredentials(true);
         config.addAllowedOrigin("http://localhost:4200");
         config.addAllowedHeader("*");
+        config.addExposedHeader(PostCursor.NEXT_CURSOR_HEADER);
+        config.addExposedHeader(RequestCorrelationFilter.REQUEST_ID_HEADER);
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
 
         source.registerCorsConfiguration("/**", config);
-        return new CorsFilter(source);
+        FilterRegistrationBean<CorsFilter> registration = new FilterRegistrationBean<>(new CorsFilter(source));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
     }
 }
\ No newline at end of file
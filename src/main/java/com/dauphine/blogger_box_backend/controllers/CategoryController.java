@@ -1,21 +1,34 @@
 package com.dauphine.blogger_box_backend.controllers;
 
 import com.dauphine.blogger_box_backend.dto.CategoryDTO;
+import com.dauphine.blogger_box_backend.dto.CategoryStatsDTO;
+import com.dauphine.blogger_box_backend.dto.ChangeStamp;
+import com.dauphine.blogger_box_backend.dto.PostCursor;
 import com.dauphine.blogger_box_backend.dto.PostDTO;
+import com.dauphine.blogger_box_backend.dto.PostSummaryDTO;
 import com.dauphine.blogger_box_backend.exception.CategoryNameAlreadyExistsException;
+import com.dauphine.blogger_box_backend.exception.CategoryNotEmptyException;
 import com.dauphine.blogger_box_backend.exception.CategoryNotFoundException;
+import com.dauphine.blogger_box_backend.exception.InvalidCursorException;
+import com.dauphine.blogger_box_backend.exception.UnsupportedPostViewException;
 import com.dauphine.blogger_box_backend.model.Category;
-import com.dauphine.blogger_box_backend.model.Post;
 import com.dauphine.blogger_box_backend.service.CategoryService;
+import com.dauphine.blogger_box_backend.service.PostPage;
 import com.dauphine.blogger_box_backend.service.PostService;
+import com.dauphine.blogger_box_backend.service.PostSummaryPage;
+import com.dauphine.blogger_box_backend.service.PostView;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.net.URI;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -36,18 +49,40 @@ public class CategoryController {
     @GetMapping
     @Operation(
             summary = "Get all categories",
-            description = "Retrieve all categories or filter like name"
+            description = "Retrieve all categories, or the best matches for a name: exact, prefix, substring, then similar names"
     )
-    public ResponseEntity<List<CategoryDTO>> getAll(@RequestParam(required = false) String name) {
+    public ResponseEntity<List<CategoryDTO>> getAll(@RequestParam(required = false) String name,
+                                                    @RequestParam(required = false) Integer limit,
+                                                    WebRequest request) {
+        // The category list is cached, so its summary costs no query.
+        List<Category> allCategories = categoryService.getAll();
+        ChangeStamp stamp = new ChangeStamp(allCategories.size(), allCategories.stream()
+                .map(Category::getUpdatedDate)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null));
+        if (request.checkNotModified(HttpCaching.etag(stamp, name, limit))) {
+            return null;
+        }
+
         List<Category> categories = name == null || name.isBlank()
-                ? categoryService.getAll()
-                : categoryService.getAllLikeName(name);
+                ? allCategories
+                : categoryService.search(name, limit);
 
         List<CategoryDTO> categoryDTOs = categories.stream()
                 .map(category -> new CategoryDTO(category.getId(), category.getName()))
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(categoryDTOs);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(categoryDTOs);
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Get category statistics",
+            description = "Post count and latest post date of every category, without loading any post"
+    )
+    public ResponseEntity<List<CategoryStatsDTO>> getStats() {
+        return ResponseEntity.ok(categoryService.getStats());
     }
 
     @GetMapping("/{id}")
@@ -56,11 +91,17 @@ public class CategoryController {
             description = "Retrieve a category by its ID"
     )
     @ApiResponse(responseCode = "200", description = "Category found")
+    @ApiResponse(responseCode = "304", description = "Category not modified since the given ETag or date")
     @ApiResponse(responseCode = "404", description = "Category not found")
-    public ResponseEntity<CategoryDTO> getById(@PathVariable UUID id) throws CategoryNotFoundException {
+    public ResponseEntity<CategoryDTO> getById(@PathVariable UUID id, WebRequest request)
+            throws CategoryNotFoundException {
         Category category = categoryService.getById(id);
+        if (request.checkNotModified(HttpCaching.etag(category.getVersion()),
+                HttpCaching.lastModified(category.getUpdatedDate()))) {
+            return null;
+        }
         CategoryDTO categoryDTO = new CategoryDTO(category.getId(), category.getName());
-        return ResponseEntity.ok(categoryDTO);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(categoryDTO);
     }
 
     @PostMapping
@@ -88,8 +129,9 @@ public class CategoryController {
     )
     @ApiResponse(responseCode = "200", description = "Category updated successfully")
     @ApiResponse(responseCode = "404", description = "Category not found")
+    @ApiResponse(responseCode = "409", description = "Category name already exists")
     public ResponseEntity<CategoryDTO> updateName(@PathVariable UUID id, @RequestBody CategoryDTO categoryDTO)
-            throws CategoryNotFoundException {
+            throws CategoryNotFoundException, CategoryNameAlreadyExistsException {
 
         Category updatedCategory = categoryService.updateName(id, categoryDTO.getName());
         CategoryDTO updatedCategoryDTO = new CategoryDTO(updatedCategory.getId(), updatedCategory.getName());
@@ -100,35 +142,63 @@ public class CategoryController {
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Delete a category",
-            description = "Deletes an existing category"
+            description = "Deletes an existing category. A category that still has posts is only deleted "
+                    + "with cascade=true, which deletes its posts as well."
     )
     @ApiResponse(responseCode = "204", description = "Category deleted successfully")
     @ApiResponse(responseCode = "404", description = "Category not found")
-    public ResponseEntity<Void> deleteCategory(@PathVariable UUID id) throws CategoryNotFoundException {
-        categoryService.deleteById(id);
+    @ApiResponse(responseCode = "409", description = "Category still has posts")
+    public ResponseEntity<Void> deleteCategory(@PathVariable UUID id,
+                                               @RequestParam(defaultValue = "false") boolean cascade)
+            throws CategoryNotFoundException, CategoryNotEmptyException {
+        if (cascade) {
+            postService.deleteCategoryWithPosts(id);
+        } else {
+            categoryService.deleteById(id);
+        }
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/{id}/posts")
     @Operation(
             summary = "Get posts by category",
-            description = "Retrieves all posts that belong to a specific category"
+            description = "Retrieves a page of posts that belong to a specific category, newest first. "
+                    + "With view=summary, each post carries an excerpt of its content instead of the full content. "
+                    + "The cursor for the next page is returned in the X-Next-Cursor header."
     )
     @ApiResponse(responseCode = "200", description = "Posts retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid pagination cursor or unsupported view")
     @ApiResponse(responseCode = "404", description = "Category not found")
-    public ResponseEntity<List<PostDTO>> getPostsByCategory(@PathVariable UUID id)
-            throws CategoryNotFoundException {
-
-        List<Post> posts = postService.getPostsByCategoryId(id);
-        List<PostDTO> postDTOs = posts.stream()
-                .map(post -> new PostDTO(
-                        post.getId(),
-                        post.getTitle(),
-                        post.getContent(),
-                        post.getCreatedDate().toLocalDate(),
-                        post.getCategory().getId()))
+    public ResponseEntity<List<?>> getPostsByCategory(@PathVariable UUID id,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer size,
+                                                      @RequestParam(defaultValue = "full") String view,
+                                                      WebRequest request)
+            throws CategoryNotFoundException, InvalidCursorException, UnsupportedPostViewException {
+
+        PostView postView = PostView.fromParameter(view);
+        categoryService.getById(id);
+        ChangeStamp stamp = postService.getChangeStampByCategoryId(id);
+        if (request.checkNotModified(HttpCaching.etag(stamp, cursor, size, postView))) {
+            return null;
+        }
+
+        if (postView == PostView.SUMMARY) {
+            PostSummaryPage page = postService.getPostSummariesByCategoryId(id, PostCursor.decode(cursor), size);
+            List<PostSummaryDTO> summaryDTOs = page.summaries().stream()
+                    .map(PostSummaryDTO::from)
+                    .collect(Collectors.toList());
+
+            return PostController.withNextCursor(ResponseEntity.ok().cacheControl(CacheControl.noCache()), page.nextCursor())
+                    .body(summaryDTOs);
+        }
+
+        PostPage page = postService.getPostsByCategoryId(id, PostCursor.decode(cursor), size);
+        List<PostDTO> postDTOs = page.posts().stream()
+                .map(PostDTO::from)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(postDTOs);
+        return PostController.withNextCursor(ResponseEntity.ok().cacheControl(CacheControl.noCache()), page.nextCursor())
+                .body(postDTOs);
     }
-}
\ No newline at end of file
+}
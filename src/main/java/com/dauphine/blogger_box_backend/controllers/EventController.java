@@ -0,0 +1,43 @@
+package com.dauphine.blogger_box_backend.controllers;
+
+import com.dauphine.blogger_box_backend.events.ChangeEventBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/v1/events")
+@Tag(name = "Event", description = "Change event stream")
+public class EventController {
+
+    static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final ChangeEventBroadcaster broadcaster;
+
+    @Autowired
+    public EventController(ChangeEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Subscribe to changes",
+            description = "Streams post and category changes as server-sent events named like post.created, "
+                    + "whose id is the offset of the change and whose data is the JSON of the changed resource "
+                    + "(only its id for a deletion). Resume after an offset with the Last-Event-ID header, "
+                    + "which browsers send when reconnecting, or the lastEventId parameter."
+    )
+    @ApiResponse(responseCode = "200", description = "Event stream opened")
+    public SseEmitter streamEvents(@RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) Long lastEventIdHeader,
+                                   @RequestParam(required = false) Long lastEventId) {
+        return broadcaster.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+}
@@ -0,0 +1,85 @@
+package com.dauphine.blogger_box_backend.controllers;
+
+import com.dauphine.blogger_box_backend.dto.ChangeStamp;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+
+/**
+ * Validators for conditional GET requests (ETag / Last-Modified).
+ */
+final class HttpCaching {
+
+    private HttpCaching() {
+    }
+
+    /**
+     * Strong ETag of a single entity, taken from its optimistic-lock version.
+     */
+    static String etag(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * Version carried by a strong ETag of a single entity, or null when the value is not such an ETag.
+     */
+    static Long version(String etag) {
+        if (etag.length() < 3 || etag.charAt(0) != '"' || etag.charAt(etag.length() - 1) != '"') {
+            return null;
+        }
+        try {
+            return Long.parseLong(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Strong ETag of a collection: the state summary plus a SHA-256 of the request parameters selecting the page.
+     * Collections are sent without Last-Modified: their latest update date does not move when an entry is deleted.
+     */
+    static String etag(ChangeStamp stamp, Object... parameters) {
+        LocalDateTime lastModified = stamp.lastModified();
+        long modified = lastModified == null
+                ? 0
+                : lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + lastModified.getNano();
+        return "\"" + Long.toHexString(stamp.count())
+                + "-" + Long.toHexString(modified)
+                + "-" + digest(parameters) + "\"";
+    }
+
+    /**
+     * Each parameter is prefixed with its length, or -1 when null, so that no two parameter lists hash the same
+     * bytes.
+     */
+    private static String digest(Object... parameters) {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (Object parameter : parameters) {
+            if (parameter == null) {
+                sha256.update("-1:".getBytes(StandardCharsets.US_ASCII));
+                continue;
+            }
+            byte[] value = parameter.toString().getBytes(StandardCharsets.UTF_8);
+            sha256.update((value.length + ":").getBytes(StandardCharsets.US_ASCII));
+            sha256.update(value);
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    /**
+     * Last-Modified value in epoch millis, or -1 (ignored by Spring) when unknown.
+     */
+    static long lastModified(LocalDateTime date) {
+        return date == null ? -1 : date.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,20 +1,48 @@
 package com.dauphine.blogger_box_backend.controllers;
 
+import com.dauphine.blogger_box_backend.dto.BatchItemResultDTO;
+import com.dauphine.blogger_box_backend.dto.ChangeStamp;
+import com.dauphine.blogger_box_backend.dto.PostCursor;
 import com.dauphine.blogger_box_backend.dto.PostDTO;
+import com.dauphine.blogger_box_backend.dto.PostSearchHitDTO;
+import com.dauphine.blogger_box_backend.dto.PostSummary;
+import com.dauphine.blogger_box_backend.dto.PostSummaryDTO;
+import com.dauphine.blogger_box_backend.dto.SearchCursor;
+import com.dauphine.blogger_box_backend.events.ChangeEventBroadcaster;
+import com.dauphine.blogger_box_backend.exception.BatchTooLargeException;
 import com.dauphine.blogger_box_backend.exception.CategoryNotFoundException;
+import com.dauphine.blogger_box_backend.exception.InvalidCursorException;
 import com.dauphine.blogger_box_backend.exception.PostNotFoundException;
+import com.dauphine.blogger_box_backend.exception.PostVersionMismatchException;
+import com.dauphine.blogger_box_backend.exception.UnsupportedExportFormatException;
+import com.dauphine.blogger_box_backend.exception.UnsupportedPostViewException;
 import com.dauphine.blogger_box_backend.model.Post;
+import com.dauphine.blogger_box_backend.search.PostSearchHit;
+import com.dauphine.blogger_box_backend.service.PostExportFormat;
+import com.dauphine.blogger_box_backend.service.PostExportService;
+import com.dauphine.blogger_box_backend.service.PostPage;
+import com.dauphine.blogger_box_backend.service.PostSearchPage;
 import com.dauphine.blogger_box_backend.service.PostService;
+import com.dauphine.blogger_box_backend.service.PostSummaryPage;
+import com.dauphine.blogger_box_backend.service.PostView;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.time.LocalDate;
@@ -27,58 +55,184 @@ import java.util.stream.Collectors;
 @Tag(name = "Post", description = "Post management APIs")
 public class PostController {
 
+    private static final Logger logger = LoggerFactory.getLogger(PostController.class);
+
     private final PostService postService;
+    private final PostExportService postExportService;
+    private final ChangeEventBroadcaster changeEventBroadcaster;
 
     @Autowired
-    public PostController(PostService postService) {
+    public PostController(PostService postService,
+                          PostExportService postExportService,
+                          ChangeEventBroadcaster changeEventBroadcaster) {
         this.postService = postService;
+        this.postExportService = postExportService;
+        this.changeEventBroadcaster = changeEventBroadcaster;
     }
 
     @GetMapping
     @Operation(
             summary = "Get all posts",
-            description = "Retrieves a list of all posts ordered by creation date (newest first)"
+            description = "Retrieves a page of posts ordered by creation date (newest first), "
+                    + "optionally restricted to a single day or to a from/to date range (both inclusive). "
+                    + "With view=summary, each post carries an excerpt of its content instead of the full content. "
+                    + "The cursor for the next page is returned in the X-Next-Cursor header."
     )
-    public ResponseEntity<List<PostDTO>> getAllPosts(
+    @ApiResponse(responseCode = "200", description = "Posts retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid pagination cursor or unsupported view")
+    public ResponseEntity<List<?>> getAllPosts(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @RequestParam(required = false) String value) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String value,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) throws InvalidCursorException, UnsupportedPostViewException {
 
         List<Post> posts;
+        String nextCursor;
+
+        logger.debug("getAllPosts date={} from={} to={} value={} cursor={} size={} view={}",
+                date, from, to, value, cursor, size, view);
 
-        System.out.println("Backend - PostController: Début de la méthode getAllPosts");
-        System.out.println("Backend - PostController: Paramètres - date: " + date + ", value: " + value);
+        PostView postView = PostView.fromParameter(view);
+        ChangeStamp stamp = postService.getChangeStamp();
+        if (request.checkNotModified(HttpCaching.etag(stamp, date, from, to, value, cursor, size, postView))) {
+            return null;
+        }
+
+        if (postView == PostView.SUMMARY) {
+            return getPostSummaries(date, from, to, value, cursor, size);
+        }
 
         if (date != null) {
-            posts = postService.getPostsByDate(date);
-            System.out.println("Backend - PostController: " + posts.size() + " posts récupérés par date");
+            PostPage page = postService.getPostsByDate(date, PostCursor.decode(cursor), size);
+            posts = page.posts();
+            nextCursor = page.nextCursor();
         } else if (value != null && !value.isBlank()) {
-            posts = postService.getPostsByTitleOrContent(value);
-            System.out.println("Backend - PostController: " + posts.size() + " posts récupérés par titre/contenu");
+            PostSearchPage page = postService.getPostsByTitleOrContent(value, SearchCursor.decode(cursor), size);
+            posts = page.hits().stream().map(PostSearchHit::post).toList();
+            nextCursor = page.nextCursor();
         } else {
-            posts = postService.getAllPosts();
-            System.out.println("Backend - PostController: " + posts.size() + " posts récupérés de getAllPosts");
+            PostPage page = postService.getPostsBetween(
+                    from == null ? null : from.atStartOfDay(),
+                    to == null ? null : to.plusDays(1).atStartOfDay(),
+                    PostCursor.decode(cursor),
+                    size);
+            posts = page.posts();
+            nextCursor = page.nextCursor();
         }
 
         List<PostDTO> postDTOs = posts.stream()
-                .map(post -> new PostDTO(
-                        post.getId(),
-                        post.getTitle(),
-                        post.getContent(),
-                        post.getCreatedDate().toLocalDate(),
-                        post.getCategory().getId()))
+                .map(PostDTO::from)
                 .collect(Collectors.toList());
 
-        System.out.println("Backend - PostController: " + postDTOs.size() + " PostDTOs créés et prêts à être envoyés");
-        System.out.println("Backend - PostController: Détail des posts:");
-        for (int i = 0; i < Math.min(postDTOs.size(), 10); i++) {
-            PostDTO dto = postDTOs.get(i);
-            System.out.println("Post #" + (i+1) + ": ID=" + dto.getId() + ", Title=" + dto.getTitle());
+        logger.debug("getAllPosts returned {} posts, next cursor present: {}", postDTOs.size(), nextCursor != null);
+        if (logger.isTraceEnabled()) {
+            for (PostDTO dto : postDTOs) {
+                logger.trace("Post id={} title={}", dto.getId(), dto.getTitle());
+            }
         }
-        if (postDTOs.size() > 10) {
-            System.out.println("... et " + (postDTOs.size() - 10) + " autres posts");
+
+        return withNextCursor(ResponseEntity.ok().cacheControl(CacheControl.noCache()), nextCursor)
+                .body(postDTOs);
+    }
+
+    /**
+     * Summary counterpart of {@link #getAllPosts}. Search hits are already loaded with their content,
+     * so they are summarized in memory.
+     */
+    private ResponseEntity<List<?>> getPostSummaries(LocalDate date, LocalDate from, LocalDate to, String value,
+                                                     String cursor, Integer size) throws InvalidCursorException {
+        List<PostSummary> summaries;
+        String nextCursor;
+
+        if (date != null) {
+            PostSummaryPage page = postService.getPostSummariesByDate(date, PostCursor.decode(cursor), size);
+            summaries = page.summaries();
+            nextCursor = page.nextCursor();
+        } else if (value != null && !value.isBlank()) {
+            PostSearchPage page = postService.getPostsByTitleOrContent(value, SearchCursor.decode(cursor), size);
+            summaries = page.hits().stream().map(hit -> postService.summarize(hit.post())).toList();
+            nextCursor = page.nextCursor();
+        } else {
+            PostSummaryPage page = postService.getPostSummariesBetween(
+                    from == null ? null : from.atStartOfDay(),
+                    to == null ? null : to.plusDays(1).atStartOfDay(),
+                    PostCursor.decode(cursor),
+                    size);
+            summaries = page.summaries();
+            nextCursor = page.nextCursor();
         }
 
-        return ResponseEntity.ok(postDTOs);
+        List<PostSummaryDTO> summaryDTOs = summaries.stream()
+                .map(PostSummaryDTO::from)
+                .collect(Collectors.toList());
+
+        logger.debug("getAllPosts returned {} summaries, next cursor present: {}", summaryDTOs.size(), nextCursor != null);
+        return withNextCursor(ResponseEntity.ok().cacheControl(CacheControl.noCache()), nextCursor)
+                .body(summaryDTOs);
+    }
+
+    @GetMapping("/search")
+    @Operation(
+            summary = "Search posts",
+            description = "Full-text search over post titles and contents, most relevant first. "
+                    + "Each hit carries an excerpt where matched terms are wrapped in <mark> tags. "
+                    + "The cursor for the next page is returned in the X-Next-Cursor header."
+    )
+    @ApiResponse(responseCode = "200", description = "Search hits retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid pagination cursor")
+    public ResponseEntity<List<PostSearchHitDTO>> searchPosts(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) throws InvalidCursorException {
+
+        PostSearchPage page = postService.getPostsByTitleOrContent(q, SearchCursor.decode(cursor), size);
+        List<PostSearchHitDTO> hitDTOs = page.hits().stream()
+                .map(hit -> new PostSearchHitDTO(
+                        hit.post().getId(),
+                        hit.post().getTitle(),
+                        hit.post().getCreatedDate().toLocalDate(),
+                        hit.post().getCategory().getId(),
+                        hit.score(),
+                        hit.snippet()))
+                .collect(Collectors.toList());
+
+        return withNextCursor(ResponseEntity.ok(), page.nextCursor()).body(hitDTOs);
+    }
+
+    @GetMapping("/export")
+    @Operation(
+            summary = "Export all posts",
+            description = "Streams every post, newest first, as NDJSON (one PostDTO per line) or CSV"
+    )
+    @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    @ApiResponse(responseCode = "400", description = "Unsupported export format")
+    public ResponseEntity<StreamingResponseBody> exportPosts(@RequestParam(defaultValue = "ndjson") String format)
+            throws UnsupportedExportFormatException {
+        PostExportFormat exportFormat = PostExportFormat.fromParameter(format);
+        StreamingResponseBody body = outputStream -> postExportService.export(exportFormat, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"posts." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream post changes",
+            description = "Pushes every committed post change as a server-sent event named post.created, post.updated "
+                    + "or post.deleted, whose data is the PostDTO (only its id for a deletion). "
+                    + "Reconnecting with the Last-Event-ID header, or the lastEventId parameter, replays the changes missed."
+    )
+    @ApiResponse(responseCode = "200", description = "Event stream opened")
+    public SseEmitter streamPosts(@RequestHeader(name = EventController.LAST_EVENT_ID_HEADER, required = false) Long lastEventIdHeader,
+                                  @RequestParam(required = false) Long lastEventId) {
+        return changeEventBroadcaster.subscribeToPosts(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
     }
 
     @GetMapping("/{id}")
@@ -87,18 +241,19 @@ public class PostController {
             description = "Retrieves a post by its ID"
     )
     @ApiResponse(responseCode = "200", description = "Post found")
+    @ApiResponse(responseCode = "304", description = "Post not modified since the given ETag or date")
     @ApiResponse(responseCode = "404", description = "Post not found")
-    public ResponseEntity<PostDTO> getPostById(@PathVariable UUID id) throws PostNotFoundException {
+    public ResponseEntity<PostDTO> getPostById(@PathVariable UUID id, WebRequest request)
+            throws PostNotFoundException {
         Post post = postService.getPostById(id);
+        if (request.checkNotModified(HttpCaching.etag(post.getVersion()),
+                HttpCaching.lastModified(post.getUpdatedDate()))) {
+            return null;
+        }
 
-        PostDTO postDTO = new PostDTO(
-                post.getId(),
-                post.getTitle(),
-                post.getContent(),
-                post.getCreatedDate().toLocalDate(),
-                post.getCategory().getId());
+        PostDTO postDTO = PostDTO.from(post);
 
-        return ResponseEntity.ok(postDTO);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(postDTO);
     }
 
     @PostMapping
@@ -116,68 +271,102 @@ public class PostController {
                 postDTO.getContent(),
                 postDTO.getCategoryId());
 
-        PostDTO createdPostDTO = new PostDTO(
-                createdPost.getId(),
-                createdPost.getTitle(),
-                createdPost.getContent(),
-                createdPost.getCreatedDate().toLocalDate(),
-                createdPost.getCategory().getId());
+        PostDTO createdPostDTO = PostDTO.from(createdPost);
 
         return ResponseEntity
                 .created(URI.create("/v1/posts/" + createdPost.getId()))
                 .body(createdPostDTO);
     }
 
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Create posts in bulk",
+            description = "Creates several posts in one request and reports a status per item, in request order"
+    )
+    @ApiResponse(responseCode = "200", description = "Batch processed, see the status of each item")
+    @ApiResponse(responseCode = "400", description = "Batch too large")
+    public ResponseEntity<List<BatchItemResultDTO>> createPosts(@RequestBody List<PostDTO> postDTOs)
+            throws BatchTooLargeException {
+        return ResponseEntity.ok(postService.createPosts(postDTOs));
+    }
+
+    @PatchMapping("/batch")
+    @Operation(
+            summary = "Partially update posts in bulk",
+            description = "Updates the provided fields of several posts, identified by their id, "
+                    + "and reports a status per item, in request order"
+    )
+    @ApiResponse(responseCode = "200", description = "Batch processed, see the status of each item")
+    @ApiResponse(responseCode = "400", description = "Batch too large")
+    public ResponseEntity<List<BatchItemResultDTO>> patchPosts(@RequestBody List<PostDTO> postDTOs)
+            throws BatchTooLargeException {
+        return ResponseEntity.ok(postService.patchPosts(postDTOs));
+    }
+
+    @DeleteMapping("/batch")
+    @Operation(
+            summary = "Delete posts in bulk",
+            description = "Deletes several posts by id and reports a status per item, in request order"
+    )
+    @ApiResponse(responseCode = "200", description = "Batch processed, see the status of each item")
+    @ApiResponse(responseCode = "400", description = "Batch too large")
+    public ResponseEntity<List<BatchItemResultDTO>> deletePosts(@RequestBody List<UUID> ids)
+            throws BatchTooLargeException {
+        return ResponseEntity.ok(postService.deletePosts(ids));
+    }
+
     @PutMapping("/{id}")
     @Operation(
             summary = "Update a post",
-            description = "Updates an existing post's information"
+            description = "Updates an existing post's information. "
+                    + "With an If-Match header holding the ETag of the post, the update only applies to that version."
     )
     @ApiResponse(responseCode = "200", description = "Post updated successfully")
     @ApiResponse(responseCode = "404", description = "Post not found or Category not found")
-    public ResponseEntity<PostDTO> updatePost(@PathVariable UUID id, @RequestBody PostDTO postDTO)
-            throws PostNotFoundException, CategoryNotFoundException {
+    @ApiResponse(responseCode = "409", description = "Post modified concurrently")
+    @ApiResponse(responseCode = "412", description = "Post modified since the version given in If-Match")
+    public ResponseEntity<PostDTO> updatePost(@PathVariable UUID id,
+                                              @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              @RequestBody PostDTO postDTO)
+            throws PostNotFoundException, CategoryNotFoundException, PostVersionMismatchException {
 
         Post updatedPost = postService.updatePost(
                 id,
                 postDTO.getTitle(),
                 postDTO.getContent(),
-                postDTO.getCategoryId());
+                postDTO.getCategoryId(),
+                expectedVersion(id, ifMatch));
 
-        PostDTO updatedPostDTO = new PostDTO(
-                updatedPost.getId(),
-                updatedPost.getTitle(),
-                updatedPost.getContent(),
-                updatedPost.getCreatedDate().toLocalDate(),
-                updatedPost.getCategory().getId());
+        PostDTO updatedPostDTO = PostDTO.from(updatedPost);
 
-        return ResponseEntity.ok(updatedPostDTO);
+        return ResponseEntity.ok().eTag(HttpCaching.etag(updatedPost.getVersion())).body(updatedPostDTO);
     }
 
     @PatchMapping("/{id}")
     @Operation(
             summary = "Partially update a post",
-            description = "Updates specific fields of an existing post"
+            description = "Updates specific fields of an existing post. "
+                    + "With an If-Match header holding the ETag of the post, the update only applies to that version."
     )
     @ApiResponse(responseCode = "200", description = "Post updated successfully")
     @ApiResponse(responseCode = "404", description = "Post not found or Category not found")
-    public ResponseEntity<PostDTO> patchPost(@PathVariable UUID id, @RequestBody PostDTO postDTO)
-            throws PostNotFoundException, CategoryNotFoundException {
+    @ApiResponse(responseCode = "409", description = "Post modified concurrently")
+    @ApiResponse(responseCode = "412", description = "Post modified since the version given in If-Match")
+    public ResponseEntity<PostDTO> patchPost(@PathVariable UUID id,
+                                              @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              @RequestBody PostDTO postDTO)
+            throws PostNotFoundException, CategoryNotFoundException, PostVersionMismatchException {
 
         Post updatedPost = postService.updatePost(
                 id,
                 postDTO.getTitle(),
                 postDTO.getContent(),
-                postDTO.getCategoryId());
+                postDTO.getCategoryId(),
+                expectedVersion(id, ifMatch));
 
-        PostDTO updatedPostDTO = new PostDTO(
-                updatedPost.getId(),
-                updatedPost.getTitle(),
-                updatedPost.getContent(),
-                updatedPost.getCreatedDate().toLocalDate(),
-                updatedPost.getCategory().getId());
+        PostDTO updatedPostDTO = PostDTO.from(updatedPost);
 
-        return ResponseEntity.ok(updatedPostDTO);
+        return ResponseEntity.ok().eTag(HttpCaching.etag(updatedPost.getVersion())).body(updatedPostDTO);
     }
 
     @DeleteMapping("/{id}")
@@ -191,4 +380,26 @@ public class PostController {
         postService.deletePost(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Version required by an If-Match header, or null when the update applies to any version.
+     * A value that is not the ETag of a post can never match.
+     */
+    private static Long expectedVersion(UUID id, String ifMatch) throws PostVersionMismatchException {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Long version = HttpCaching.version(ifMatch.trim());
+        if (version == null) {
+            throw new PostVersionMismatchException(id);
+        }
+        return version;
+    }
+
+    static ResponseEntity.BodyBuilder withNextCursor(ResponseEntity.BodyBuilder builder, String nextCursor) {
+        if (nextCursor != null) {
+            builder.header(PostCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return builder;
+    }
 }
\ No newline at end of file
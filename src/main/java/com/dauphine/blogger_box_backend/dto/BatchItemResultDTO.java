@@ -0,0 +1,61 @@
+package com.dauphine.blogger_box_backend.dto;
+
+import java.util.UUID;
+
+public class BatchItemResultDTO {
+    private int index;
+    private UUID id;
+    private int status;
+    private String error;
+
+    public BatchItemResultDTO() {
+    }
+
+    public BatchItemResultDTO(int index, UUID id, int status, String error) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static BatchItemResultDTO success(int index, UUID id, int status) {
+        return new BatchItemResultDTO(index, id, status, null);
+    }
+
+    public static BatchItemResultDTO failure(int index, UUID id, int status, String error) {
+        return new BatchItemResultDTO(index, id, status, error);
+    }
+
+    // Getters et setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,57 @@
+package com.dauphine.blogger_box_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class CategoryStatsDTO {
+    private UUID id;
+    private String name;
+    private long postCount;
+    @JsonFormat(pattern = "dd-MM-yyyy HH:mm:ss")
+    private LocalDateTime latestPostDate;
+
+    public CategoryStatsDTO() {
+    }
+
+    public CategoryStatsDTO(UUID id, String name, long postCount, LocalDateTime latestPostDate) {
+        this.id = id;
+        this.name = name;
+        this.postCount = postCount;
+        this.latestPostDate = latestPostDate;
+    }
+
+    // Getters et setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getPostCount() {
+        return postCount;
+    }
+
+    public void setPostCount(long postCount) {
+        this.postCount = postCount;
+    }
+
+    public LocalDateTime getLatestPostDate() {
+        return latestPostDate;
+    }
+
+    public void setLatestPostDate(LocalDateTime latestPostDate) {
+        this.latestPostDate = latestPostDate;
+    }
+}
@@ -0,0 +1,10 @@
+package com.dauphine.blogger_box_backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap summary of a collection's state: inserts and deletes change the count, the row count or the sum of the
+ * counts kept per category, and updates the latest update date.
+ */
+public record ChangeStamp(long count, LocalDateTime lastModified) {
+}
@@ -0,0 +1,9 @@
+package com.dauphine.blogger_box_backend.dto;
+
+import java.util.UUID;
+
+/**
+ * A post id with the id of its category, loaded without the post itself.
+ */
+public record PostCategoryId(UUID postId, UUID categoryId) {
+}
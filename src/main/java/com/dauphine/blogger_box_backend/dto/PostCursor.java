@@ -0,0 +1,44 @@
+package com.dauphine.blogger_box_backend.dto;
+
+import com.dauphine.blogger_box_backend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a post listing ordered by (createdDate DESC, id DESC).
+ * Clients only ever see the opaque Base64 form returned in the X-Next-Cursor header.
+ */
+public record PostCursor(LocalDateTime createdDate, UUID id) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /** Position before the newest possible post, used for the first page. */
+    public static final PostCursor FIRST = new PostCursor(
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            new UUID(-1L, -1L));
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PostCursor decode(String cursor) throws InvalidCursorException {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new PostCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
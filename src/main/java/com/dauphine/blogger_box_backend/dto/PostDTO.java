@@ -1,5 +1,7 @@
 package com.dauphine.blogger_box_backend.dto;
 
+import com.dauphine.blogger_box_backend.model.Post;
+
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -21,6 +23,15 @@ public class PostDTO {
         this.categoryId = categoryId;
     }
 
+    public static PostDTO from(Post post) {
+        return new PostDTO(
+                post.getId(),
+                post.getTitle(),
+                post.getContent(),
+                post.getCreatedDate().toLocalDate(),
+                post.getCategory() == null ? null : post.getCategory().getId());
+    }
+
     // Getters et setters
     public UUID getId() {
         return id;
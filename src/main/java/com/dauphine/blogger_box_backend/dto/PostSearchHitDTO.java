@@ -0,0 +1,75 @@
+package com.dauphine.blogger_box_backend.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public class PostSearchHitDTO {
+    private UUID id;
+    private String title;
+    private LocalDate createdDate;
+    private UUID categoryId;
+    private double score;
+    private String snippet;
+
+    public PostSearchHitDTO() {
+    }
+
+    public PostSearchHitDTO(UUID id, String title, LocalDate createdDate, UUID categoryId,
+                            double score, String snippet) {
+        this.id = id;
+        this.title = title;
+        this.createdDate = createdDate;
+        this.categoryId = categoryId;
+        this.score = score;
+        this.snippet = snippet;
+    }
+
+    // Getters et setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDate getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDate createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(UUID categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+}
@@ -0,0 +1,11 @@
+package com.dauphine.blogger_box_backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Post without its content, as selected for list views: {@code excerpt} holds at most the first
+ * characters of the content, truncated by the database.
+ */
+public record PostSummary(UUID id, String title, LocalDateTime createdDate, UUID categoryId, String excerpt) {
+}
@@ -0,0 +1,73 @@
+package com.dauphine.blogger_box_backend.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public class PostSummaryDTO {
+    private UUID id;
+    private String title;
+    private String excerpt;
+    private LocalDate createdDate;
+    private UUID categoryId;
+
+    public PostSummaryDTO() {
+    }
+
+    public PostSummaryDTO(UUID id, String title, String excerpt, LocalDate createdDate, UUID categoryId) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.createdDate = createdDate;
+        this.categoryId = categoryId;
+    }
+
+    public static PostSummaryDTO from(PostSummary summary) {
+        return new PostSummaryDTO(
+                summary.id(),
+                summary.title(),
+                summary.excerpt(),
+                summary.createdDate().toLocalDate(),
+                summary.categoryId());
+    }
+
+    // Getters et setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
+    public LocalDate getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDate createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(UUID categoryId) {
+        this.categoryId = categoryId;
+    }
+}
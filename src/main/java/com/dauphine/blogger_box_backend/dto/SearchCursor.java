@@ -0,0 +1,41 @@
+package com.dauphine.blogger_box_backend.dto;
+
+import com.dauphine.blogger_box_backend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a relevance-ranked search result. Ranked results have no stable keyset,
+ * so the opaque token wraps an offset into the ranking.
+ */
+public record SearchCursor(int offset) {
+
+    public static final SearchCursor FIRST = new SearchCursor(0);
+
+    private static final String PREFIX = "search:";
+
+    public String encode() {
+        String raw = PREFIX + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) throws InvalidCursorException {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException(cursor);
+            }
+            int offset = Integer.parseInt(raw.substring(PREFIX.length()));
+            if (offset < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new SearchCursor(offset);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.dauphine.blogger_box_backend.events;
+
+import com.dauphine.blogger_box_backend.model.ChangeType;
+import com.dauphine.blogger_box_backend.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * A committed change, as relayed from the outbox. {@code id} is the stream position of the event, which increases
+ * with the order in which changes were relayed and is the offset clients resume from; {@code payload} is JSON.
+ */
+public record ChangeEvent(long id,
+                          String aggregateType,
+                          UUID aggregateId,
+                          ChangeType type,
+                          String payload,
+                          LocalDateTime createdDate) {
+
+    public static ChangeEvent from(OutboxEvent event) {
+        return new ChangeEvent(
+                event.getStreamPosition(),
+                event.getAggregateType(),
+                event.getAggregateId(),
+                event.getType(),
+                event.getPayload(),
+                event.getCreatedDate());
+    }
+
+    /**
+     * Event name such as {@code post.created}.
+     */
+    public String name() {
+        return aggregateType + "." + type.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,123 @@
+package com.dauphine.blogger_box_backend.events;
+
+import com.dauphine.blogger_box_backend.config.PrimaryReads;
+import com.dauphine.blogger_box_backend.model.OutboxEvent;
+import com.dauphine.blogger_box_backend.repository.OutboxEventRepository;
+import com.dauphine.blogger_box_backend.service.OutboxService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams relayed {@link ChangeEvent}s to SSE subscribers, either all of them or only the post changes.
+ * A subscriber resuming after an event id first gets the published events that follow it, read from the outbox
+ * table, then the live ones; live events arriving during the replay are held back and deduplicated against it.
+ * <p>
+ * Ids are stream positions, which follow commit order, and live events are those of every node, as tailed by the
+ * {@link OutboxRelay} of this one: a client gets the same events in the same order whichever node it resumes on.
+ */
+@Component
+public class ChangeEventBroadcaster {
+
+    private static final int REPLAY_PAGE_SIZE = 500;
+
+    private final OutboxEventRepository repository;
+    private final AsyncTaskExecutor taskExecutor;
+    private final SseHub allChanges;
+    private final SseHub postChanges;
+
+    public ChangeEventBroadcaster(OutboxEventRepository repository,
+                                  @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${blogger.sse.buffer-size:256}") int bufferSize) {
+        this.repository = repository;
+        this.taskExecutor = taskExecutor;
+        this.allChanges = new SseHub("events", bufferSize, meterRegistry);
+        this.postChanges = new SseHub("posts", bufferSize, meterRegistry);
+    }
+
+    /**
+     * Subscribes to the events following {@code lastEventId}, or to the events published from now on when null.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(allChanges, null, lastEventId);
+    }
+
+    public SseEmitter subscribeToPosts(Long lastEventId) {
+        return subscribe(postChanges, OutboxService.POST, lastEventId);
+    }
+
+    @EventListener
+    public void onChange(ChangeEvent event) {
+        allChanges.publish(event.id(), toSse(event));
+        if (OutboxService.POST.equals(event.aggregateType())) {
+            postChanges.publish(event.id(), toSse(event));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${blogger.sse.heartbeat-interval:15s}")
+    public void heartbeat() {
+        allChanges.heartbeat();
+        postChanges.heartbeat();
+    }
+
+    public int getSubscriberCount() {
+        return allChanges.getSubscriberCount() + postChanges.getSubscriberCount();
+    }
+
+    @PreDestroy
+    public void close() {
+        allChanges.close();
+        postChanges.close();
+    }
+
+    private SseEmitter subscribe(SseHub hub, String aggregateType, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter();
+        SseHub.Subscriber subscriber = hub.subscribe(emitter, lastEventId != null);
+        if (lastEventId != null) {
+            taskExecutor.execute(() -> replay(subscriber, aggregateType, lastEventId));
+        }
+        return emitter;
+    }
+
+    private void replay(SseHub.Subscriber subscriber, String aggregateType, long lastEventId) {
+        Set<Long> replayed = new HashSet<>();
+        long after = lastEventId;
+        List<OutboxEvent> page;
+        do {
+            // The replay must reach the events already streamed live: a lagging replica would end it short of them.
+            long from = after;
+            page = PrimaryReads.call(() -> repository.findPublishedAfter(from, Limit.of(REPLAY_PAGE_SIZE)));
+            for (OutboxEvent event : page) {
+                after = event.getStreamPosition();
+                if (aggregateType != null && !aggregateType.equals(event.getAggregateType())) {
+                    continue;
+                }
+                if (!subscriber.send(toSse(ChangeEvent.from(event)))) {
+                    return;
+                }
+                replayed.add(event.getStreamPosition());
+            }
+        } while (page.size() == REPLAY_PAGE_SIZE);
+        subscriber.resume(replayed::contains);
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(ChangeEvent event) {
+        return SseEmitter.event()
+                .id(Long.toString(event.id()))
+                .name(event.name())
+                .data(event.payload(), MediaType.APPLICATION_JSON);
+    }
+}
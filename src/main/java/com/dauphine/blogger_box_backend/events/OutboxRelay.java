@@ -0,0 +1,124 @@
+package com.dauphine.blogger_box_backend.events;
+
+import com.dauphine.blogger_box_backend.config.PrimaryReads;
+import com.dauphine.blogger_box_backend.model.OutboxEvent;
+import com.dauphine.blogger_box_backend.model.OutboxRelayPosition;
+import com.dauphine.blogger_box_backend.repository.OutboxEventRepository;
+import com.dauphine.blogger_box_backend.repository.OutboxRelayPositionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publishes committed outbox events as {@link ChangeEvent} application events, in two steps run by every node.
+ * <p>
+ * Claiming marks the oldest unpublished events published, in batches, and numbers them with the next stream
+ * positions. It holds the outbox_relay_position row lock until the batch commits, so the claims of all nodes take
+ * turns and positions follow commit order: once a position is visible, so are all the lower ones.
+ * <p>
+ * Tailing then reads the events published after the last position this node handed out, whichever node claimed
+ * them, and hands them to the listeners in stream order. Every node thus sees every committed event once, those
+ * claimed elsewhere within a relay interval, and never one that could still be rolled back.
+ * Published events are deleted after the retention period.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository repository;
+    private final OutboxRelayPositionRepository positionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Duration retention;
+    private final Counter relayedCounter;
+    // Last stream position handed to the listeners, read from the table on the first run. Guarded by this.
+    private long lastPosition = -1;
+
+    public OutboxRelay(OutboxEventRepository repository,
+                       OutboxRelayPositionRepository positionRepository,
+                       TransactionTemplate transactionTemplate,
+                       ApplicationEventPublisher eventPublisher,
+                       MeterRegistry meterRegistry,
+                       @Value("${blogger.outbox.batch-size:500}") int batchSize,
+                       @Value("${blogger.outbox.retention:7d}") Duration retention) {
+        this.repository = repository;
+        this.positionRepository = positionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.relayedCounter = Counter.builder("blogger.outbox.relayed")
+                .description("Change events published from the outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${blogger.outbox.relay-interval:500ms}")
+    public void relay() {
+        startTail();
+        int claimed;
+        do {
+            claimed = transactionTemplate.execute(status -> claimBatch());
+            relayedCounter.increment(claimed);
+        } while (claimed == batchSize);
+        tail();
+    }
+
+    @Scheduled(fixedDelayString = "${blogger.outbox.cleanup-interval:1h}")
+    public void deleteExpired() {
+        Integer deleted = transactionTemplate.execute(status ->
+                repository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            logger.info("Deleted {} outbox events published more than {} ago", deleted, retention);
+        }
+    }
+
+    private int claimBatch() {
+        OutboxRelayPosition position = positionRepository.findByNameForUpdate(OutboxRelayPosition.OUTBOX)
+                .orElseGet(() -> positionRepository.save(new OutboxRelayPosition(OutboxRelayPosition.OUTBOX, 0)));
+        List<OutboxEvent> events = repository.findUnpublished(Limit.of(batchSize));
+        LocalDateTime now = LocalDateTime.now();
+        long next = position.getLastPosition();
+        for (OutboxEvent event : events) {
+            event.publish(++next, now);
+        }
+        position.setLastPosition(next);
+        return events.size();
+    }
+
+    // Before the first claims of the node, so that the tail hands out the events they number.
+    private synchronized void startTail() {
+        if (lastPosition < 0) {
+            lastPosition = PrimaryReads.call(repository::findLastStreamPosition);
+        }
+    }
+
+    /**
+     * The row lock only orders the claims; the position reached by the tail belongs to this node. Synchronized so
+     * that two runs on the node, the scheduled one and a direct call, cannot both hand out the events after it.
+     */
+    private synchronized void tail() {
+        List<OutboxEvent> page;
+        do {
+            // From the primary, as the replicas lag by different amounts: live SSE subscribers must not get the
+            // events later than a client replaying from the table, or it would take itself for caught up.
+            page = PrimaryReads.call(() -> repository.findPublishedAfter(lastPosition, Limit.of(batchSize)));
+            for (OutboxEvent event : page) {
+                eventPublisher.publishEvent(ChangeEvent.from(event));
+                lastPosition = event.getStreamPosition();
+            }
+        } while (page.size() == batchSize);
+    }
+}
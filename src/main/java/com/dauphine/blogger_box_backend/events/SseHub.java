@@ -0,0 +1,175 @@
+package com.dauphine.blogger_box_backend.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongPredicate;
+
+/**
+ * Fans server-sent events out to many subscribers without a thread per connection.
+ * <p>
+ * Publishing only appends the event, built once, to the bounded queue of each subscriber and never blocks.
+ * A subscriber with queued events is drained by a single task on a virtual thread, so an idle connection
+ * holds no thread at all and a slow one only blocks its own task. A subscriber whose queue is full is too slow
+ * to keep up: it is evicted, and its client reconnects with the id of the last event it received.
+ * Heartbeats are comment lines, which keep proxies from closing idle connections and reveal dead ones.
+ */
+public class SseHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseHub.class);
+
+    private static final long NO_ID = -1;
+    private static final Message HEARTBEAT = new Message(NO_ID, SseEmitter.event().comment("heartbeat").build());
+
+    private final String name;
+    private final int bufferSize;
+    private final ExecutorService executor;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter evictedCounter;
+
+    public SseHub(String name, int bufferSize, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.bufferSize = bufferSize;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-" + name + "-", 0).factory());
+        Gauge.builder("blogger.sse.subscribers", subscribers, Set::size)
+                .description("Open server-sent event connections")
+                .tag("stream", name)
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("blogger.sse.evicted")
+                .description("Subscribers disconnected because they could not keep up")
+                .tag("stream", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the emitter. A paused subscriber queues events until {@link Subscriber#resume} is called,
+     * which gives the caller time to send it older events first.
+     */
+    public Subscriber subscribe(SseEmitter emitter, boolean paused) {
+        Subscriber subscriber = new Subscriber(emitter, paused);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    public void publish(long id, SseEmitter.SseEventBuilder event) {
+        Message message = new Message(id, event.build());
+        subscribers.forEach(subscriber -> subscriber.enqueue(message));
+    }
+
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.enqueue(HEARTBEAT));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Completes every connection; clients reconnect to another node or once this one is back.
+     */
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        executor.shutdownNow();
+    }
+
+    private record Message(long id, Set<DataWithMediaType> data) {
+    }
+
+    public final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean paused;
+        private volatile LongPredicate alreadySent = id -> false;
+
+        private Subscriber(SseEmitter emitter, boolean paused) {
+            this.emitter = emitter;
+            this.paused = paused;
+        }
+
+        /**
+         * Sends an event right away, bypassing the queue. Only for a paused subscriber, before {@link #resume}.
+         * Returns false when the connection is gone.
+         */
+        public boolean send(SseEmitter.SseEventBuilder event) {
+            return send(event.build());
+        }
+
+        /**
+         * Starts sending the queued events, except those whose id {@code alreadySent} accepts.
+         */
+        public void resume(LongPredicate alreadySent) {
+            this.alreadySent = alreadySent;
+            paused = false;
+            scheduleDrain();
+        }
+
+        private void enqueue(Message message) {
+            if (!queue.offer(message)) {
+                evict();
+                return;
+            }
+            if (!paused) {
+                scheduleDrain();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Message message;
+                while ((message = queue.poll()) != null) {
+                    if ((message.id() == NO_ID || !alreadySent.test(message.id())) && !send(message.data())) {
+                        return;
+                    }
+                }
+                draining.set(false);
+                // An event queued after the last poll but before the flag was cleared would otherwise wait.
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private boolean send(Set<DataWithMediaType> data) {
+            try {
+                emitter.send(data);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Dropping {} subscriber: {}", name, e.getMessage());
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+
+        private void evict() {
+            if (subscribers.remove(this)) {
+                evictedCounter.increment();
+                logger.warn("Evicting slow {} subscriber after {} queued events", name, bufferSize);
+                queue.clear();
+                emitter.complete();
+            }
+        }
+    }
+}
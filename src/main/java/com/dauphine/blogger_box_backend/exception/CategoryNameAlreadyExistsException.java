@@ -5,4 +5,8 @@ public class CategoryNameAlreadyExistsException extends RuntimeException {
     public CategoryNameAlreadyExistsException(String name) {
         super("Category with name '" + name + "' already exists");
     }
+
+    public CategoryNameAlreadyExistsException() {
+        super("A category with this name already exists");
+    }
 }
@@ -0,0 +1,10 @@
+package com.dauphine.blogger_box_backend.exception;
+
+import java.util.UUID;
+
+public class CategoryNotEmptyException extends RuntimeException {
+
+    public CategoryNotEmptyException(UUID id) {
+        super("Category " + id + " still has posts");
+    }
+}
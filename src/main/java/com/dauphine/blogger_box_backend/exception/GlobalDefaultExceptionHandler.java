@@ -1,12 +1,18 @@
 package com.dauphine.blogger_box_backend.exception;
 
+import com.dauphine.blogger_box_backend.model.Category;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.util.Locale;
+
 @ControllerAdvice
 public class GlobalDefaultExceptionHandler {
 
@@ -23,7 +29,10 @@ public class GlobalDefaultExceptionHandler {
                 .body(ex.getMessage());
     }
 
-    @ExceptionHandler(CategoryNameAlreadyExistsException.class)
+    @ExceptionHandler({
+            CategoryNameAlreadyExistsException.class,
+            CategoryNotEmptyException.class
+    })
     public ResponseEntity<String> handleConflictException(Exception ex) {
         logger.warn("[CONFLICT] {}", ex.getMessage());
         return ResponseEntity
@@ -31,6 +40,52 @@ public class GlobalDefaultExceptionHandler {
                 .body(ex.getMessage());
     }
 
+    @ExceptionHandler(PostVersionMismatchException.class)
+    public ResponseEntity<String> handlePreconditionFailedException(Exception ex) {
+        logger.warn("[PRECONDITION FAILED] {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(ex.getMessage());
+    }
+
+    /**
+     * Version check failed on flush: another transaction updated or deleted the row since it was read.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        logger.warn("[CONFLICT] {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body("The resource was modified concurrently, retry with its current version");
+    }
+
+    /**
+     * Unique index violations that got past the service checks, typically two concurrent writes of the same name.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        String constraintName = ex.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        if (constraintName != null && constraintName.toLowerCase(Locale.ROOT).contains(Category.NAME_UNIQUE_INDEX)) {
+            return handleConflictException(new CategoryNameAlreadyExistsException());
+        }
+        return handleGeneralException(ex);
+    }
+
+    @ExceptionHandler({
+            BatchTooLargeException.class,
+            InvalidCursorException.class,
+            UnsupportedExportFormatException.class,
+            UnsupportedPostViewException.class
+    })
+    public ResponseEntity<String> handleBadRequestException(Exception ex) {
+        logger.warn("[BAD REQUEST] {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneralException(Exception ex) {
         logger.error("[SERVER ERROR] {}", ex.getMessage(), ex);
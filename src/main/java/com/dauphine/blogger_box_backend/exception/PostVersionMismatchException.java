@@ -0,0 +1,10 @@
+package com.dauphine.blogger_box_backend.exception;
+
+import java.util.UUID;
+
+public class PostVersionMismatchException extends RuntimeException {
+
+    public PostVersionMismatchException(UUID id) {
+        super("Post " + id + " has been modified since the version given in If-Match");
+    }
+}
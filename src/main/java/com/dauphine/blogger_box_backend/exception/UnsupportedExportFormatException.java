@@ -0,0 +1,8 @@
+package com.dauphine.blogger_box_backend.exception;
+
+public class UnsupportedExportFormatException extends RuntimeException {
+
+    public UnsupportedExportFormatException(String format) {
+        super("Unsupported export format: " + format);
+    }
+}
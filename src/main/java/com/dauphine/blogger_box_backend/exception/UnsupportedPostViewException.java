@@ -0,0 +1,8 @@
+package com.dauphine.blogger_box_backend.exception;
+
+public class UnsupportedPostViewException extends RuntimeException {
+
+    public UnsupportedPostViewException(String view) {
+        super("Unsupported post view: " + view);
+    }
+}
@@ -1,15 +1,28 @@
 package com.dauphine.blogger_box_backend.model;
 
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
 
+/**
+ * Category names are unique regardless of case. PostgreSQL enforces it with
+ * {@code CREATE UNIQUE INDEX uk_category_name_lower ON category (lower(name))}, created by the
+ * V5 migration, which also backs the exact-match lookup used before inserts.
+ */
 @Entity
 @Table(name = "category")
 public class Category {
+
+    public static final String NAME_UNIQUE_INDEX = "uk_category_name_lower";
+
     @Id
     @Column(name = "id")
     private UUID id;
@@ -17,12 +30,24 @@ public class Category {
     @Column(name = "name")
     private String name;
 
+    @Column(name = "updated_date")
+    private LocalDateTime updatedDate;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    // Maintained by PostService with bulk updates only, so entity flushes never overwrite it.
+    @Column(name = "post_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long postCount;
+
 
     public Category() {
     }
 
     public Category(String name) {
-        this.id = UUID.randomUUID();
+        this.id = UuidV7.generate();
         this.name = name;
     }
 
@@ -42,4 +67,22 @@ public class Category {
     public void setName(String name) {
         this.name = name;
     }
+
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public long getPostCount() {
+        return postCount;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedDate = LocalDateTime.now();
+    }
 }
\ No newline at end of file
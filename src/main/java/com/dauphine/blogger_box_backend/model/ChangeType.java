@@ -0,0 +1,7 @@
+package com.dauphine.blogger_box_backend.model;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
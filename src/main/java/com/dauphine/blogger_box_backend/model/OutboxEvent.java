@@ -0,0 +1,108 @@
+package com.dauphine.blogger_box_backend.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.Length;
+
+/**
+ * A change written in the same transaction as the change itself, and relayed once committed.
+ * The id comes from a sequence rather than an identity column so that the events of a batch are inserted in JDBC
+ * batches too; ids follow insertion order, not commit order. The stream position, the offset clients resume from,
+ * is given by the relay when it publishes the event and follows commit order.
+ */
+@Entity
+@Table(name = "outbox_event", indexes = {
+        @Index(name = "idx_outbox_event_published_date", columnList = "published_date, id"),
+        @Index(name = "idx_outbox_event_stream_position", columnList = "stream_position", unique = true)
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private ChangeType type;
+
+    // JSON of the DTO after the change, or of its id for a deletion.
+    @Column(name = "payload", nullable = false, length = Length.LONG32)
+    private String payload;
+
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate;
+
+    @Column(name = "published_date")
+    private LocalDateTime publishedDate;
+
+    @Column(name = "stream_position")
+    private Long streamPosition;
+
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String aggregateType, UUID aggregateId, ChangeType type, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.type = type;
+        this.payload = payload;
+        this.createdDate = LocalDateTime.now();
+    }
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public UUID getAggregateId() {
+        return aggregateId;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public LocalDateTime getPublishedDate() {
+        return publishedDate;
+    }
+
+    public Long getStreamPosition() {
+        return streamPosition;
+    }
+
+    public void publish(long streamPosition, LocalDateTime publishedDate) {
+        this.streamPosition = streamPosition;
+        this.publishedDate = publishedDate;
+    }
+}
@@ -0,0 +1,46 @@
+package com.dauphine.blogger_box_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Last stream position given to an outbox event. Relays lock this row while they claim a batch, so only one of
+ * them numbers events at a time and positions follow the order in which batches commit.
+ */
+@Entity
+@Table(name = "outbox_relay_position")
+public class OutboxRelayPosition {
+
+    public static final String OUTBOX = "outbox";
+
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "last_position", nullable = false)
+    private long lastPosition;
+
+
+    public OutboxRelayPosition() {
+    }
+
+    public OutboxRelayPosition(String name, long lastPosition) {
+        this.name = name;
+        this.lastPosition = lastPosition;
+    }
+
+
+    public String getName() {
+        return name;
+    }
+
+    public long getLastPosition() {
+        return lastPosition;
+    }
+
+    public void setLastPosition(long lastPosition) {
+        this.lastPosition = lastPosition;
+    }
+}
@@ -4,14 +4,27 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import org.hibernate.annotations.DynamicUpdate;
 
+// Updates only write the columns that changed, so retitling a post does not rewrite its content.
+// The indexes are created by the migrations in db/migration; they are declared here for generated test schemas.
 @Entity
-@Table(name = "post")
+@DynamicUpdate
+@Table(name = "post", indexes = {
+        @Index(name = "idx_post_created_date", columnList = "created_date desc, id desc"),
+        @Index(name = "idx_post_category_created_date", columnList = "category_id, created_date desc, id desc"),
+        @Index(name = "idx_post_updated_date", columnList = "updated_date")
+})
 public class Post {
     @Id
     @Column(name = "id")
@@ -27,7 +40,15 @@ public class Post {
     @JsonFormat(pattern = "dd-MM-yyyy HH:mm:ss")
     private LocalDateTime createdDate;
 
-    @ManyToOne
+    @Column(name = "updated_date")
+    private LocalDateTime updatedDate;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    // Listings only need the category id, which a lazy proxy returns without loading the row.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
@@ -36,13 +57,27 @@ public class Post {
     }
 
     public Post(String title, String content, Category category) {
-        this.id = UUID.randomUUID();
+        this.id = UuidV7.generate();
         this.title = title;
         this.content = content;
         this.createdDate = LocalDateTime.now();
         this.category = category;
     }
 
+    /**
+     * Copy of an existing post kept outside the database, such as in a shared cache.
+     */
+    public Post(UUID id, String title, String content, LocalDateTime createdDate, LocalDateTime updatedDate,
+                Long version, Category category) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.createdDate = createdDate;
+        this.updatedDate = updatedDate;
+        this.version = version;
+        this.category = category;
+    }
+
 
     public UUID getId() {
         return id;
@@ -76,6 +111,14 @@ public class Post {
         this.createdDate = createdDate;
     }
 
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
     public Category getCategory() {
         return category;
     }
@@ -83,4 +126,10 @@ public class Post {
     public void setCategory(Category category) {
         this.category = category;
     }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedDate = LocalDateTime.now();
+    }
 }
\ No newline at end of file
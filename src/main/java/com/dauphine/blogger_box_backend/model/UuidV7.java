@@ -0,0 +1,50 @@
+package com.dauphine.blogger_box_backend.model;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUID version 7 (RFC 9562): 48 bits of Unix time in milliseconds, a 12-bit counter and 62 random bits.
+ * Consecutive ids increase, so new rows land on the right-most page of the primary key index instead of a random one.
+ * <p>
+ * The timestamp and counter are advanced together with a compare-and-set, which keeps ids strictly increasing
+ * across threads without a lock. Beyond 4096 ids in one millisecond, or when the clock goes back, the counter
+ * carries over into the timestamp, which then runs slightly ahead of the clock.
+ * The random bits come from a {@link SecureRandom}, as those of {@link UUID#randomUUID()} do: ids appear in URLs,
+ * and apart from its timestamp and counter an id cannot be guessed from the ones issued before it.
+ * <p>
+ * Existing random (version 4) ids are kept as they are, since they appear in URLs and foreign keys. Both versions
+ * share the uuid column; old rows stay scattered in the index while every new row is appended to it.
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    // Unix time in milliseconds shifted left by COUNTER_BITS, plus the counter.
+    private static final AtomicLong lastTimestamp = new AtomicLong();
+    private static final SecureRandom random = new SecureRandom();
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        long candidate = System.currentTimeMillis() << COUNTER_BITS;
+        long timestamp = lastTimestamp.updateAndGet(last -> candidate > last ? candidate : last + 1);
+        long mostSignificantBits = (timestamp >>> COUNTER_BITS) << 16
+                | VERSION
+                | timestamp & ((1L << COUNTER_BITS) - 1);
+        long leastSignificantBits = VARIANT | random.nextLong() & RANDOM_MASK;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Unix time in milliseconds carried by a version 7 id.
+     */
+    public static long timestamp(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
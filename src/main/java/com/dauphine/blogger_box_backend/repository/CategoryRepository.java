@@ -1,19 +1,71 @@
 package com.dauphine.blogger_box_backend.repository;
 
+import com.dauphine.blogger_box_backend.dto.CategoryStatsDTO;
 import com.dauphine.blogger_box_backend.model.Category;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
 
     @Query("""
-            SELECT category 
+            SELECT COUNT(category) > 0
             FROM Category category
-            WHERE UPPER(category.name) LIKE UPPER(CONCAT('%', :name ,'%'))
+            WHERE LOWER(category.name) = LOWER(:name)
            """)
-    List<Category> findAllLikeName(@Param("name") String name);
+    boolean existsByNameIgnoreCase(@Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE Category category SET category.postCount = category.postCount + :delta WHERE category.id = :id")
+    void adjustPostCount(@Param("id") UUID id, @Param("delta") long delta);
+
+    /**
+     * Takes one post off the count of the category holding it, without loading the post.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Category category
+            SET category.postCount = category.postCount - 1
+            WHERE category.id = (SELECT post.category.id FROM Post post WHERE post.id = :postId)
+           """)
+    void decrementPostCountOf(@Param("postId") UUID postId);
+
+    /**
+     * Locks the category row until the end of the transaction, which also holds back inserts of posts into it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT category FROM Category category WHERE category.id = :id")
+    Optional<Category> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Deletes the category if it has no posts. Returns the number of rows deleted.
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM Category category
+            WHERE category.id = :id
+            AND NOT EXISTS (SELECT 1 FROM Post post WHERE post.category = category)
+           """)
+    int deleteIfEmpty(@Param("id") UUID id);
+
+    /**
+     * One row per category; the latest post date is an index-only lookup on (category_id, created_date).
+     */
+    @Query("""
+            SELECT new com.dauphine.blogger_box_backend.dto.CategoryStatsDTO(
+                category.id,
+                category.name,
+                category.postCount,
+                (SELECT MAX(post.createdDate) FROM Post post WHERE post.category = category))
+            FROM Category category
+            ORDER BY category.name
+           """)
+    List<CategoryStatsDTO> findStats();
 }
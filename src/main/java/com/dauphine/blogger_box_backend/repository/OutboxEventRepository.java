@@ -0,0 +1,46 @@
+package com.dauphine.blogger_box_backend.repository;
+
+import com.dauphine.blogger_box_backend.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest unpublished events. Not locked: only the relay holding the outbox_relay_position row lock claims
+     * events. Served by the partial index idx_outbox_event_unpublished of the V5 migration.
+     */
+    @Query("""
+            SELECT e FROM OutboxEvent e
+            WHERE e.publishedDate IS NULL
+            ORDER BY e.id
+           """)
+    List<OutboxEvent> findUnpublished(Limit limit);
+
+    /**
+     * Published events following the stream position {@code after}, in stream order. Batches commit in the order
+     * of their positions, so the events up to the last position read are all there.
+     */
+    @Query("""
+            SELECT e FROM OutboxEvent e
+            WHERE e.streamPosition > :after
+            ORDER BY e.streamPosition
+           """)
+    List<OutboxEvent> findPublishedAfter(@Param("after") long after, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(e.streamPosition), 0) FROM OutboxEvent e")
+    long findLastStreamPosition();
+
+    @Modifying
+    @Query("""
+            DELETE FROM OutboxEvent e
+            WHERE e.publishedDate < :before
+           """)
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
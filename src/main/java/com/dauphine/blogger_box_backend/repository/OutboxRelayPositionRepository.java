@@ -0,0 +1,21 @@
+package com.dauphine.blogger_box_backend.repository;
+
+import com.dauphine.blogger_box_backend.model.OutboxRelayPosition;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface OutboxRelayPositionRepository extends JpaRepository<OutboxRelayPosition, String> {
+
+    /**
+     * Locks the position row until the end of the transaction; a relay of another node waits for it, then reads
+     * the position this one left.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM OutboxRelayPosition p WHERE p.name = :name")
+    Optional<OutboxRelayPosition> findByNameForUpdate(@Param("name") String name);
+}
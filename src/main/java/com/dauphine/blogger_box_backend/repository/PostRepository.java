@@ -1,26 +1,180 @@
 package com.dauphine.blogger_box_backend.repository;
 
+import com.dauphine.blogger_box_backend.dto.ChangeStamp;
+import com.dauphine.blogger_box_backend.dto.PostCategoryId;
+import com.dauphine.blogger_box_backend.dto.PostSummary;
 import com.dauphine.blogger_box_backend.model.Post;
 import com.dauphine.blogger_box_backend.model.Category;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PostRepository extends JpaRepository<Post, UUID> {
 
-    List<Post> findByCategoryOrderByCreatedDateDesc(Category category);
+    @Query("""
+            SELECT p FROM Post p
+            WHERE p.createdDate >= :start AND p.createdDate < :end
+            AND (p.createdDate < :cursorDate OR (p.createdDate = :cursorDate AND p.id < :cursorId))
+            ORDER BY p.createdDate DESC, p.id DESC
+           """)
+    List<Post> findPage(@Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end,
+                        @Param("cursorDate") LocalDateTime cursorDate,
+                        @Param("cursorId") UUID cursorId,
+                        Limit limit);
+
+    @Query("""
+            SELECT p FROM Post p
+            WHERE p.category = :category
+            AND (p.createdDate < :cursorDate OR (p.createdDate = :cursorDate AND p.id < :cursorId))
+            ORDER BY p.createdDate DESC, p.id DESC
+           """)
+    List<Post> findPageByCategory(@Param("category") Category category,
+                                  @Param("cursorDate") LocalDateTime cursorDate,
+                                  @Param("cursorId") UUID cursorId,
+                                  Limit limit);
+
+    /**
+     * Same page as {@link #findPage} without the content, of which only the first {@code excerptLength}
+     * characters are selected.
+     */
+    @Query("""
+            SELECT new com.dauphine.blogger_box_backend.dto.PostSummary(
+                p.id, p.title, p.createdDate, p.category.id, SUBSTRING(p.content, 1, :excerptLength))
+            FROM Post p
+            WHERE p.createdDate >= :start AND p.createdDate < :end
+            AND (p.createdDate < :cursorDate OR (p.createdDate = :cursorDate AND p.id < :cursorId))
+            ORDER BY p.createdDate DESC, p.id DESC
+           """)
+    List<PostSummary> findSummaryPage(@Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end,
+                                      @Param("cursorDate") LocalDateTime cursorDate,
+                                      @Param("cursorId") UUID cursorId,
+                                      @Param("excerptLength") int excerptLength,
+                                      Limit limit);
+
+    @Query("""
+            SELECT new com.dauphine.blogger_box_backend.dto.PostSummary(
+                p.id, p.title, p.createdDate, p.category.id, SUBSTRING(p.content, 1, :excerptLength))
+            FROM Post p
+            WHERE p.category.id = :categoryId
+            AND (p.createdDate < :cursorDate OR (p.createdDate = :cursorDate AND p.id < :cursorId))
+            ORDER BY p.createdDate DESC, p.id DESC
+           """)
+    List<PostSummary> findSummaryPageByCategoryId(@Param("categoryId") UUID categoryId,
+                                                  @Param("cursorDate") LocalDateTime cursorDate,
+                                                  @Param("cursorId") UUID cursorId,
+                                                  @Param("excerptLength") int excerptLength,
+                                                  Limit limit);
+
+    /**
+     * Post count, as kept by the categories, with the latest update date of the posts: a read of the category rows
+     * and of the end of idx_post_updated_date, rather than a count of every post. Both are maintained without a
+     * lock shared by all post writes.
+     */
+    @Query("""
+            SELECT new com.dauphine.blogger_box_backend.dto.ChangeStamp(
+                (SELECT COALESCE(SUM(c.postCount), 0) FROM Category c), MAX(p.updatedDate))
+            FROM Post p
+           """)
+    ChangeStamp findChangeStamp();
 
-    List<Post> findByCreatedDateOrderByCreatedDateDesc(LocalDateTime date);
+    @Query("""
+            SELECT new com.dauphine.blogger_box_backend.dto.ChangeStamp(COUNT(p), MAX(p.updatedDate))
+            FROM Post p
+            WHERE p.category.id = :categoryId
+           """)
+    ChangeStamp findChangeStampByCategoryId(@Param("categoryId") UUID categoryId);
+
+    /**
+     * Posts with an id above {@code afterId}, in id order: a keyset walk over the whole table that neither skips
+     * nor repeats posts while others are inserted or deleted.
+     */
+    @Query("""
+            SELECT p FROM Post p
+            WHERE p.id > :afterId
+            ORDER BY p.id
+           """)
+    List<Post> findPageAfterId(@Param("afterId") UUID afterId, Limit limit);
 
+    /**
+     * Streams every post through a server-side cursor. Must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("""
             SELECT p FROM Post p
-            WHERE UPPER(p.title) LIKE UPPER(CONCAT('%', :value, '%'))
-            OR UPPER(p.content) LIKE UPPER(CONCAT('%', :value, '%'))
-            ORDER BY p.createdDate DESC
+            ORDER BY p.createdDate DESC, p.id DESC
+           """)
+    Stream<Post> streamAll();
+
+    /**
+     * Applies the non-null fields to the post if it is still at {@code version}, in a single statement
+     * that both checks the version and takes the row lock. Returns the number of rows updated, 0 when the post
+     * does not exist or has moved on to another version.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Post p
+            SET p.title = COALESCE(:title, p.title),
+                p.content = COALESCE(:content, p.content),
+                p.updatedDate = :updatedDate,
+                p.version = p.version + 1
+            WHERE p.id = :id AND p.version = :version
+           """)
+    int updateIfVersion(@Param("id") UUID id,
+                        @Param("version") long version,
+                        @Param("title") String title,
+                        @Param("content") String content,
+                        @Param("updatedDate") LocalDateTime updatedDate);
+
+    /**
+     * Deletes the post without loading it first, as {@code deleteById} does. Returns the number of rows deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM Post p WHERE p.id = :id")
+    int deleteByIdReturningCount(@Param("id") UUID id);
+
+    @Query("SELECT p.id FROM Post p WHERE p.category.id = :categoryId")
+    List<UUID> findIdsByCategoryId(@Param("categoryId") UUID categoryId);
+
+    @Modifying
+    @Query("DELETE FROM Post p WHERE p.category.id = :categoryId")
+    int deleteAllByCategoryId(@Param("categoryId") UUID categoryId);
+
+    /**
+     * Category ids of the existing posts among {@code ids}, with their rows locked in id order until the end of
+     * the transaction. A concurrent deletion or move of one of them is waited for, then reflected in the result:
+     * a deleted post is left out and a moved one comes with its new category.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT new com.dauphine.blogger_box_backend.dto.PostCategoryId(p.id, p.category.id)
+            FROM Post p
+            WHERE p.id IN :ids
+            ORDER BY p.id
            """)
-    List<Post> findByTitleOrContentContaining(@Param("value") String value);
+    List<PostCategoryId> findCategoryIdsForUpdate(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Deletes the posts without loading them. Returns the number of rows deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM Post p WHERE p.id IN :ids")
+    int deleteAllByIdReturningCount(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,352 @@
+package com.dauphine.blogger_box_backend.search;
+
+import com.dauphine.blogger_box_backend.model.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable index over category names for type-ahead search.
+ * <p>
+ * Every query word is matched against the vocabulary of words used in category names: words starting with it,
+ * containing it, or similar to it, where similarity is the Jaccard index of trigram sets built the way pg_trgm
+ * builds them (each word padded with two spaces in front and one behind). A name matches when each query word
+ * matches one of its words. Matches rank exact names first, then name prefixes, then names containing the query,
+ * then the rest, each group by decreasing word similarity.
+ * Queries shorter than three characters only match name prefixes.
+ */
+public final class CategoryNameIndex {
+
+    static final double SIMILARITY_THRESHOLD = 0.3;
+
+    private static final int MIN_TRIGRAM_QUERY_LENGTH = 3;
+    private static final int[] NO_POSTING = new int[0];
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int SUBSTRING = 2;
+    private static final int SIMILAR = 3;
+
+    private final List<Category> source;
+    private final Category[] categories;
+    private final String[] names;
+    private final int[][] nameWords;
+    private final int[] byName;
+    private final String[] words;
+    private final int[][] wordNames;
+    private final int[] wordTrigramCounts;
+    private final Map<String, int[]> wordPostings;
+
+    public CategoryNameIndex(List<Category> categories) {
+        this.source = categories;
+        this.categories = categories.toArray(Category[]::new);
+        this.names = new String[this.categories.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = normalize(this.categories[i].getName());
+        }
+
+        Set<String> vocabulary = new TreeSet<>();
+        for (String name : names) {
+            vocabulary.addAll(splitWords(name));
+        }
+        this.words = vocabulary.toArray(String[]::new);
+        Map<String, Integer> wordIds = new HashMap<>(words.length * 2);
+        for (int w = 0; w < words.length; w++) {
+            wordIds.put(words[w], w);
+        }
+
+        // Postings are filled in increasing order of name or word.
+        this.nameWords = new int[names.length][];
+        PostingsBuilder namesByWord = new PostingsBuilder();
+        for (int i = 0; i < names.length; i++) {
+            nameWords[i] = splitWords(names[i]).stream().mapToInt(wordIds::get).distinct().toArray();
+            for (int w : nameWords[i]) {
+                namesByWord.add(w, i);
+            }
+        }
+        this.wordNames = new int[words.length][];
+        for (int w = 0; w < words.length; w++) {
+            wordNames[w] = namesByWord.build(w);
+        }
+
+        this.wordTrigramCounts = new int[words.length];
+        PostingsBuilder wordsByTrigram = new PostingsBuilder();
+        for (int w = 0; w < words.length; w++) {
+            Set<String> trigrams = trigrams(words[w]);
+            wordTrigramCounts[w] = trigrams.size();
+            for (String trigram : trigrams) {
+                wordsByTrigram.add(trigram, w);
+            }
+        }
+        this.wordPostings = wordsByTrigram.buildAll();
+
+        this.byName = IntStream.range(0, names.length)
+                .boxed()
+                .sorted(Comparator.comparing(i -> names[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Whether this index was built from that very list, which tells callers holding the cached list
+     * whether the index is still current.
+     */
+    public boolean isBuiltFrom(List<Category> categories) {
+        return source == categories;
+    }
+
+    /**
+     * Best matches of the query, at most {@code limit} of them and at least one when any name matches.
+     */
+    public List<Category> search(String query, int limit) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            return List.of();
+        }
+        limit = Math.max(1, limit);
+        if (normalizedQuery.length() < MIN_TRIGRAM_QUERY_LENGTH) {
+            return searchPrefix(normalizedQuery, limit);
+        }
+
+        List<String> queryWords = splitWords(normalizedQuery);
+        List<WordMatches> matchingWords = new ArrayList<>(queryWords.size());
+        for (String queryWord : queryWords) {
+            WordMatches matches = matchWord(queryWord);
+            if (matches.all().length == 0) {
+                return List.of();
+            }
+            matchingWords.add(matches);
+        }
+
+        // Names containing the query contain every query word within one of their words, and rank above
+        // all merely similar names: when there are enough of them, the similar words need not be looked at.
+        List<Match> containing = collect(normalizedQuery, matchingWords, WordMatches::containing, SUBSTRING, limit);
+        List<Match> matches = containing.size() == limit
+                ? containing
+                : collect(normalizedQuery, matchingWords, WordMatches::all, SIMILAR, limit);
+        return matches.stream()
+                .map(match -> categories[match.index()])
+                .toList();
+    }
+
+    /**
+     * Best {@code limit} names ranked at most {@code maxRank}, among the names having one of the
+     * {@code candidateWords} of the query word matching the fewest names.
+     */
+    private List<Match> collect(String query, List<WordMatches> matchingWords,
+                                Function<WordMatches, int[]> candidateWords, int maxRank, int limit) {
+        int[] rarest = matchingWords.stream()
+                .map(candidateWords)
+                .min(Comparator.comparingLong(this::nameCount))
+                .orElseThrow();
+
+        PriorityQueue<Match> best = new PriorityQueue<>(Comparator.<Match>naturalOrder().reversed());
+        BitSet visited = new BitSet(names.length);
+        for (int w : rarest) {
+            for (int i : wordNames[w]) {
+                if (visited.get(i)) {
+                    continue;
+                }
+                visited.set(i);
+                int rank = rank(names[i], query);
+                double similarity = rank > maxRank ? 0 : similarity(i, matchingWords);
+                if (similarity == 0) {
+                    continue;
+                }
+                Match match = new Match(i, rank, similarity, names[i]);
+                if (best.size() < limit) {
+                    best.add(match);
+                } else if (match.compareTo(best.peek()) < 0) {
+                    best.poll();
+                    best.add(match);
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(Comparator.naturalOrder());
+        return matches;
+    }
+
+    private long nameCount(int[] words) {
+        long count = 0;
+        for (int w : words) {
+            count += wordNames[w].length;
+        }
+        return count;
+    }
+
+    /**
+     * Vocabulary words starting with, containing or similar to {@code queryWord}, with their similarity to it.
+     */
+    private WordMatches matchWord(String queryWord) {
+        double[] scores = new double[words.length];
+        IntStream.Builder containing = IntStream.builder();
+        IntStream.Builder similar = IntStream.builder();
+        for (int w = lowerBound(words, queryWord); w < words.length && words[w].startsWith(queryWord); w++) {
+            scores[w] = (double) queryWord.length() / words[w].length();
+            containing.add(w);
+        }
+
+        if (queryWord.length() >= MIN_TRIGRAM_QUERY_LENGTH) {
+            Set<String> queryTrigrams = trigrams(queryWord);
+            int[] shared = new int[words.length];
+            for (String trigram : queryTrigrams) {
+                for (int w : wordPostings.getOrDefault(trigram, NO_POSTING)) {
+                    if (shared[w]++ == 0 && scores[w] == 0) {
+                        similar.add(w);
+                    }
+                }
+            }
+            int[] candidates = similar.build().toArray();
+            similar = IntStream.builder();
+            for (int w : candidates) {
+                double similarity = (double) shared[w] / (queryTrigrams.size() + wordTrigramCounts[w] - shared[w]);
+                if (words[w].contains(queryWord)) {
+                    scores[w] = Math.max(similarity, Double.MIN_VALUE);
+                    containing.add(w);
+                } else if (similarity >= SIMILARITY_THRESHOLD) {
+                    scores[w] = similarity;
+                    similar.add(w);
+                }
+            }
+        }
+
+        int[] containingWords = containing.build().toArray();
+        int[] similarWords = similar.build().toArray();
+        int[] allWords = Arrays.copyOf(containingWords, containingWords.length + similarWords.length);
+        System.arraycopy(similarWords, 0, allWords, containingWords.length, similarWords.length);
+        return new WordMatches(scores, containingWords, allWords);
+    }
+
+    /**
+     * Average over the query words of their best match among the words of the name, or 0 when one has none.
+     */
+    private double similarity(int name, List<WordMatches> matchingWords) {
+        double total = 0;
+        for (WordMatches matches : matchingWords) {
+            double bestWord = 0;
+            for (int w : nameWords[name]) {
+                bestWord = Math.max(bestWord, matches.scores()[w]);
+            }
+            if (bestWord == 0) {
+                return 0;
+            }
+            total += bestWord;
+        }
+        return total / matchingWords.size();
+    }
+
+    private List<Category> searchPrefix(String prefix, int limit) {
+        int low = 0;
+        int high = byName.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (names[byName[middle]].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        List<Category> matches = new ArrayList<>();
+        for (int k = low; k < byName.length && matches.size() < limit && names[byName[k]].startsWith(prefix); k++) {
+            matches.add(categories[byName[k]]);
+        }
+        return matches;
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int index = Arrays.binarySearch(sorted, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static int rank(String name, String query) {
+        if (name.equals(query)) {
+            return EXACT;
+        }
+        if (name.startsWith(query)) {
+            return PREFIX;
+        }
+        return name.contains(query) ? SUBSTRING : SIMILAR;
+    }
+
+    static String normalize(String name) {
+        return String.join(" ", SearchTokenizer.tokenize(name));
+    }
+
+    private static List<String> splitWords(String normalizedName) {
+        return normalizedName.isEmpty() ? List.of() : List.of(normalizedName.split(" "));
+    }
+
+    static Set<String> trigrams(String word) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        String padded = "  " + word + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Similarity of every vocabulary word to one query word (0 when it does not match), and the matching words.
+     */
+    private record WordMatches(double[] scores, int[] containing, int[] all) {
+    }
+
+    private record Match(int index, int rank, double similarity, String name) implements Comparable<Match> {
+
+        @Override
+        public int compareTo(Match other) {
+            int byRank = Integer.compare(rank, other.rank);
+            if (byRank != 0) {
+                return byRank;
+            }
+            int bySimilarity = Double.compare(other.similarity, similarity);
+            if (bySimilarity != 0) {
+                return bySimilarity;
+            }
+            int byLength = Integer.compare(name.length(), other.name.length());
+            return byLength != 0 ? byLength : name.compareTo(other.name);
+        }
+    }
+
+    /**
+     * Growable int postings keyed by word id or trigram.
+     */
+    private static final class PostingsBuilder {
+
+        private final Map<Object, int[]> postings = new HashMap<>();
+        private final Map<Object, Integer> sizes = new HashMap<>();
+
+        void add(Object key, int value) {
+            int size = sizes.merge(key, 1, Integer::sum);
+            int[] posting = postings.computeIfAbsent(key, k -> new int[4]);
+            if (size > posting.length) {
+                posting = Arrays.copyOf(posting, posting.length * 2);
+                postings.put(key, posting);
+            }
+            posting[size - 1] = value;
+        }
+
+        int[] build(Object key) {
+            int[] posting = postings.get(key);
+            return posting == null ? NO_POSTING : Arrays.copyOf(posting, sizes.get(key));
+        }
+
+        Map<String, int[]> buildAll() {
+            Map<String, int[]> built = new HashMap<>(postings.size() * 2);
+            postings.keySet().forEach(key -> built.put((String) key, build(key)));
+            return built;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.dauphine.blogger_box_backend.search;
+
+import com.dauphine.blogger_box_backend.cache.TransactionCallbacks;
+import com.dauphine.blogger_box_backend.model.Post;
+import com.dauphine.blogger_box_backend.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process inverted index ranked with BM25. Only term frequencies are kept in memory;
+ * the posts of the requested page are loaded from the database to build snippets.
+ * The index is rebuilt at startup and kept in sync by {@code PostService} mutations, applied once their
+ * transaction commits so that a rollback leaves no hits behind.
+ */
+@Component
+@ConditionalOnProperty(name = "blogger.search.engine", havingValue = "memory")
+public class InMemoryPostSearchEngine implements PostSearchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryPostSearchEngine.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_BOOST = 2;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // Lowest id in the unsigned byte order in which the database compares UUIDs.
+    private static final UUID BEFORE_FIRST_ID = new UUID(0L, 0L);
+
+    private static final Comparator<ScoredPost> RANKING = Comparator
+            .comparingDouble(ScoredPost::score)
+            .thenComparing(ScoredPost::postId);
+
+    private final PostRepository repository;
+
+    private final Map<String, Map<UUID, Integer>> postings = new HashMap<>();
+    private final Map<UUID, IndexedDocument> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    public InMemoryPostSearchEngine(PostRepository repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int indexed = 0;
+        UUID lastId = BEFORE_FIRST_ID;
+        List<Post> page;
+        do {
+            page = repository.findPageAfterId(lastId, Limit.of(REBUILD_BATCH_SIZE));
+            page.forEach(post -> indexNow(post.getId(), frequencies(post)));
+            indexed += page.size();
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == REBUILD_BATCH_SIZE);
+        logger.info("[SEARCH] In-memory index built with {} posts", indexed);
+    }
+
+    @Override
+    public List<PostSearchHit> search(String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(SearchTokenizer.tokenize(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        List<ScoredPost> ranked;
+        lock.readLock().lock();
+        try {
+            ranked = rank(terms, offset + limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ranked.size() <= offset) {
+            return List.of();
+        }
+        List<ScoredPost> page = ranked.subList(offset, ranked.size());
+
+        Map<UUID, Post> posts = repository.findAllById(page.stream().map(ScoredPost::postId).toList()).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        List<PostSearchHit> hits = new ArrayList<>(page.size());
+        for (ScoredPost scored : page) {
+            Post post = posts.get(scored.postId());
+            if (post != null) {
+                hits.add(new PostSearchHit(post, scored.score(), SnippetHighlighter.highlight(post.getContent(), terms)));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Tokenizes the post right away, as it stands in the transaction, and indexes it once the transaction commits.
+     */
+    @Override
+    public void index(Post post) {
+        UUID postId = post.getId();
+        Map<String, Integer> frequencies = frequencies(post);
+        TransactionCallbacks.afterCommit(() -> indexNow(postId, frequencies));
+    }
+
+    @Override
+    public void remove(UUID postId) {
+        TransactionCallbacks.afterCommit(() -> removeNow(postId));
+    }
+
+    private static Map<String, Integer> frequencies(Post post) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : SearchTokenizer.tokenize(post.getTitle())) {
+            frequencies.merge(term, TITLE_BOOST, Integer::sum);
+        }
+        for (String term : SearchTokenizer.tokenize(post.getContent())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private void indexNow(UUID postId, Map<String, Integer> frequencies) {
+        lock.writeLock().lock();
+        try {
+            unindex(postId);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(postId, frequency));
+            IndexedDocument document = new IndexedDocument(frequencies, length(frequencies));
+            documents.put(postId, document);
+            totalLength += document.length();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeNow(UUID postId) {
+        lock.writeLock().lock();
+        try {
+            unindex(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(UUID postId) {
+        IndexedDocument previous = documents.remove(postId);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= previous.length();
+        for (String term : previous.frequencies().keySet()) {
+            Map<UUID, Integer> termPostings = postings.get(term);
+            termPostings.remove(postId);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Scores the documents containing every term and keeps the best {@code count} of them,
+     * most relevant first.
+     */
+    private List<ScoredPost> rank(Set<String> terms, int count) {
+        List<Map<UUID, Integer>> termPostings = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Map<UUID, Integer> candidates = postings.get(term);
+            if (candidates == null) {
+                return List.of();
+            }
+            termPostings.add(candidates);
+        }
+        // Walk the rarest term's postings and probe the others.
+        termPostings.sort(Comparator.comparingInt(Map::size));
+
+        int documentCount = documents.size();
+        double averageLength = (double) totalLength / documentCount;
+        double[] idf = new double[termPostings.size()];
+        for (int i = 0; i < idf.length; i++) {
+            int df = termPostings.get(i).size();
+            idf[i] = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+        }
+
+        PriorityQueue<ScoredPost> best = new PriorityQueue<>(count + 1, RANKING);
+        candidates:
+        for (UUID postId : termPostings.get(0).keySet()) {
+            double lengthNorm = K1 * (1 - B + B * documents.get(postId).length() / averageLength);
+            double score = 0;
+            for (int i = 0; i < idf.length; i++) {
+                Integer frequency = termPostings.get(i).get(postId);
+                if (frequency == null) {
+                    continue candidates;
+                }
+                score += idf[i] * frequency * (K1 + 1) / (frequency + lengthNorm);
+            }
+            best.add(new ScoredPost(postId, score));
+            if (best.size() > count) {
+                best.poll();
+            }
+        }
+
+        List<ScoredPost> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING.reversed());
+        return ranked;
+    }
+
+    private static int length(Map<String, Integer> frequencies) {
+        int length = 0;
+        for (int frequency : frequencies.values()) {
+            length += frequency;
+        }
+        return length;
+    }
+
+    private record IndexedDocument(Map<String, Integer> frequencies, int length) {
+    }
+
+    private record ScoredPost(UUID postId, double score) {
+    }
+}
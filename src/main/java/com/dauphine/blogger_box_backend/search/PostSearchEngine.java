@@ -0,0 +1,29 @@
+package com.dauphine.blogger_box_backend.search;
+
+import com.dauphine.blogger_box_backend.model.Post;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full-text search backend for posts. The implementation is selected with
+ * {@code blogger.search.engine} ({@code postgres} or {@code memory}).
+ */
+public interface PostSearchEngine {
+
+    /**
+     * Returns hits matching every term of the query, most relevant first.
+     */
+    List<PostSearchHit> search(String query, int offset, int limit);
+
+    /**
+     * Called when a post is created or updated, in the transaction of the change. Implementations keeping an
+     * index of their own apply the change once that transaction commits.
+     */
+    void index(Post post);
+
+    /**
+     * Called when a post is deleted, in the transaction of the change.
+     */
+    void remove(UUID postId);
+}
@@ -0,0 +1,10 @@
+package com.dauphine.blogger_box_backend.search;
+
+import com.dauphine.blogger_box_backend.model.Post;
+
+/**
+ * A matching post with its relevance score and a content excerpt where matched
+ * terms are wrapped in {@code <mark>} tags.
+ */
+public record PostSearchHit(Post post, double score, String snippet) {
+}
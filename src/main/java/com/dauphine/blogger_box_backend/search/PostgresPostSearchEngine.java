@@ -0,0 +1,103 @@
+package com.dauphine.blogger_box_backend.search;
+
+import com.dauphine.blogger_box_backend.model.Post;
+import com.dauphine.blogger_box_backend.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Searches posts with PostgreSQL full-text search, on the {@code blogger_search} configuration created by the
+ * V5 migration: the {@code simple} one with accents removed, so that "ete" matches "été". The tsvector
+ * expression below must stay identical to the one of the GIN index created by the same migration so the planner
+ * can use it:
+ * <pre>
+ * CREATE INDEX idx_post_fts ON post USING GIN
+ *     (to_tsvector('blogger_search', coalesce(title, '') || ' ' || coalesce(content, '')));
+ * </pre>
+ * The index is maintained by PostgreSQL itself, so {@link #index} and {@link #remove} are no-ops.
+ */
+@Component
+@ConditionalOnProperty(name = "blogger.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresPostSearchEngine implements PostSearchEngine {
+
+    // ts_headline copies the text as is, so matches are delimited by control characters removed from the text
+    // beforehand, and replaced by <mark> tags once the headline has been HTML-escaped.
+    private static final String START_SEL = "\u0002";
+    private static final String STOP_SEL = "\u0003";
+
+    // Headlines are computed in the outer query, only for the rows of the requested page.
+    private static final String SEARCH_QUERY = """
+            SELECT ranked.id,
+                   ranked.score,
+                   ts_headline('blogger_search', translate(coalesce(ranked.content, ''), chr(2) || chr(3), ''),
+                               ranked.query,
+                               'StartSel=' || chr(2) || ', StopSel=' || chr(3)
+                                   || ', MaxWords=30, MinWords=10, MaxFragments=1')
+            FROM (
+                SELECT p.id, p.content, p.created_date, q.query,
+                       ts_rank(to_tsvector('blogger_search', coalesce(p.title, '') || ' ' || coalesce(p.content, '')),
+                               q.query) AS score
+                FROM post p, websearch_to_tsquery('blogger_search', :query) AS q(query)
+                WHERE to_tsvector('blogger_search', coalesce(p.title, '') || ' ' || coalesce(p.content, '')) @@ q.query
+                ORDER BY score DESC, p.created_date DESC, p.id DESC
+                OFFSET :offset LIMIT :limit
+            ) ranked
+            ORDER BY ranked.score DESC, ranked.created_date DESC, ranked.id DESC
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final PostRepository repository;
+
+    public PostgresPostSearchEngine(PostRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PostSearchHit> search(String query, int offset, int limit) {
+        List<Object[]> rows = entityManager.createNativeQuery(SEARCH_QUERY)
+                .setParameter("query", query)
+                .setParameter("offset", offset)
+                .setParameter("limit", limit)
+                .getResultList();
+
+        List<UUID> ids = rows.stream().map(row -> (UUID) row[0]).toList();
+        Map<UUID, Post> posts = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        List<PostSearchHit> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Post post = posts.get((UUID) row[0]);
+            if (post != null) {
+                hits.add(new PostSearchHit(post, ((Number) row[1]).doubleValue(), toHtml((String) row[2])));
+            }
+        }
+        return hits;
+    }
+
+    private static String toHtml(String headline) {
+        return HtmlUtils.htmlEscape(headline, "UTF-8")
+                .replace(START_SEL, "<mark>")
+                .replace(STOP_SEL, "</mark>");
+    }
+
+    @Override
+    public void index(Post post) {
+    }
+
+    @Override
+    public void remove(UUID postId) {
+    }
+}
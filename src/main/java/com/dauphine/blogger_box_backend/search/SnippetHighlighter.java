@@ -0,0 +1,72 @@
+package com.dauphine.blogger_box_backend.search;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+
+/**
+ * Builds a short excerpt around the first matched term, in the same
+ * {@code <mark>} format PostgreSQL's ts_headline is configured to produce.
+ * The excerpt is an HTML fragment: the text of the post is escaped, only the {@code <mark>} tags are markup.
+ */
+final class SnippetHighlighter {
+
+    private static final int WORDS_BEFORE = 10;
+    private static final int MAX_WORDS = 30;
+
+    private SnippetHighlighter() {
+    }
+
+    static String highlight(String text, Set<String> terms) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        List<int[]> words = new ArrayList<>();
+        int firstMatch = -1;
+        Matcher matcher = SearchTokenizer.TOKEN.matcher(text);
+        while (matcher.find()) {
+            boolean matched = terms.contains(SearchTokenizer.normalize(matcher.group()));
+            if (firstMatch < 0 && matched) {
+                firstMatch = words.size();
+            }
+            words.add(new int[]{matcher.start(), matcher.end(), matched ? 1 : 0});
+            if (firstMatch >= 0 && words.size() >= firstMatch + MAX_WORDS - WORDS_BEFORE) {
+                break;
+            }
+        }
+        if (words.isEmpty()) {
+            return "";
+        }
+
+        int from = firstMatch < 0 ? 0 : Math.max(0, firstMatch - WORDS_BEFORE);
+        int to = Math.min(words.size(), from + MAX_WORDS);
+
+        StringBuilder snippet = new StringBuilder();
+        int position = words.get(from)[0];
+        if (position > 0) {
+            snippet.append("... ");
+        }
+        for (int i = from; i < to; i++) {
+            int[] word = words.get(i);
+            snippet.append(escape(text, position, word[0]));
+            if (word[2] == 1) {
+                snippet.append("<mark>").append(escape(text, word[0], word[1])).append("</mark>");
+            } else {
+                snippet.append(escape(text, word[0], word[1]));
+            }
+            position = word[1];
+        }
+        if (position < text.length()) {
+            snippet.append(" ...");
+        }
+        return snippet.toString();
+    }
+
+    private static String escape(String text, int start, int end) {
+        return HtmlUtils.htmlEscape(text.substring(start, end), "UTF-8");
+    }
+}
@@ -1,59 +1,182 @@
 package com.dauphine.blogger_box_backend.service;
 
+import com.dauphine.blogger_box_backend.cache.CategoryCache;
+import com.dauphine.blogger_box_backend.dto.CategoryDTO;
+import com.dauphine.blogger_box_backend.dto.CategoryStatsDTO;
+import com.dauphine.blogger_box_backend.exception.CategoryNotEmptyException;
 import com.dauphine.blogger_box_backend.exception.CategoryNotFoundException;
 import com.dauphine.blogger_box_backend.exception.CategoryNameAlreadyExistsException;
 import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.model.ChangeType;
 import com.dauphine.blogger_box_backend.repository.CategoryRepository;
+import com.dauphine.blogger_box_backend.search.CategoryNameIndex;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("blogger.service")
 public class CategoryService {
 
+    private static final Logger logger = LoggerFactory.getLogger(CategoryService.class);
+
     private final CategoryRepository repository;
+    private final CategoryCache cache;
+    private final OutboxService outboxService;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private volatile CategoryNameIndex nameIndex = new CategoryNameIndex(List.of());
 
-    public CategoryService(CategoryRepository repository) {
+    public CategoryService(CategoryRepository repository,
+                           CategoryCache cache,
+                           OutboxService outboxService,
+                           @Value("${blogger.pagination.default-size:20}") int defaultLimit,
+                           @Value("${blogger.pagination.max-size:100}") int maxLimit) {
         this.repository = repository;
+        this.cache = cache;
+        this.outboxService = outboxService;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
     }
 
     public List<Category> getAll() {
-        return repository.findAll();
+        return cache.getAll(repository::findAll);
+    }
+
+    /**
+     * Type-ahead search over the cached categories, best matches first. The trigram index is rebuilt
+     * whenever the cached list has been reloaded.
+     */
+    public List<Category> search(String name, Integer limit) {
+        List<Category> categories = getAll();
+        CategoryNameIndex index = nameIndex;
+        if (!index.isBuiltFrom(categories)) {
+            index = new CategoryNameIndex(categories);
+            nameIndex = index;
+        }
+        return index.search(name, resolveLimit(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategoryStatsDTO> getStats() {
+        return repository.findStats();
     }
 
-    public List<Category> getAllLikeName(String name) {
-        return repository.findAllLikeName(name);
+    /**
+     * Applies post count changes in the caller's transaction, one UPDATE per category taken in id order
+     * so that concurrent transactions lock the rows in the same order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjustPostCounts(Map<UUID, Long> deltas) {
+        new TreeMap<>(deltas).forEach((id, delta) -> {
+            if (delta != 0) {
+                repository.adjustPostCount(id, delta);
+            }
+        });
     }
 
     public Category getById(UUID id) throws CategoryNotFoundException {
-        return repository.findById(id)
+        return cache.get(id, repository::findById)
                 .orElseThrow(() -> new CategoryNotFoundException(id));
     }
 
+    /**
+     * Returns the existing categories among {@code ids}, keyed by id, with at most one query for the cache misses.
+     */
+    public Map<UUID, Category> getByIds(Collection<UUID> ids) {
+        return cache.getAll(ids, missing -> repository.findAllById(missing).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity())));
+    }
+
+    /**
+     * The lookup gives a readable error for the common case; concurrent creates of the same name
+     * are rejected by the unique index and reported the same way by the exception handler.
+     */
+    @Transactional
     public Category create(String name) throws CategoryNameAlreadyExistsException {
-        List<Category> existingCategories = getAllLikeName(name);
-        for (Category cat : existingCategories) {
-            if (cat.getName().equalsIgnoreCase(name)) {
-                throw new CategoryNameAlreadyExistsException(name);
-            }
+        if (repository.existsByNameIgnoreCase(name)) {
+            throw new CategoryNameAlreadyExistsException(name);
         }
 
-        Category category = new Category(name);
-        return repository.save(category);
+        Category category = repository.save(new Category(name));
+        outboxService.record(OutboxService.CATEGORY, category.getId(), ChangeType.CREATED, toPayload(category));
+        cache.evict(category.getId());
+        logger.info("Category {} created with name '{}'", category.getId(), name);
+        return category;
     }
 
-    public Category updateName(UUID id, String name) throws CategoryNotFoundException {
-        Category category = getById(id);
+    @Transactional
+    public Category updateName(UUID id, String name)
+            throws CategoryNotFoundException, CategoryNameAlreadyExistsException {
+        // Load from the repository: cached instances are shared and must not be modified.
+        Category category = repository.findById(id)
+                .orElseThrow(() -> new CategoryNotFoundException(id));
+        if (!category.getName().equalsIgnoreCase(name) && repository.existsByNameIgnoreCase(name)) {
+            throw new CategoryNameAlreadyExistsException(name);
+        }
         category.setName(name);
-        return repository.save(category);
+        Category updatedCategory = repository.save(category);
+        outboxService.record(OutboxService.CATEGORY, id, ChangeType.UPDATED, toPayload(updatedCategory));
+        cache.evict(id);
+        logger.info("Category {} renamed to '{}'", id, name);
+        return updatedCategory;
     }
 
-    public boolean deleteById(UUID id) throws CategoryNotFoundException {
-        if (!repository.existsById(id)) {
-            throw new CategoryNotFoundException(id);
+    /**
+     * Deletes the category with a single DELETE that only matches it while it has no posts; the reason is
+     * looked up only when nothing was deleted.
+     */
+    @Transactional
+    public boolean deleteById(UUID id) throws CategoryNotFoundException, CategoryNotEmptyException {
+        if (repository.deleteIfEmpty(id) == 0) {
+            if (!repository.existsById(id)) {
+                throw new CategoryNotFoundException(id);
+            }
+            throw new CategoryNotEmptyException(id);
         }
-        repository.deleteById(id);
+        outboxService.recordDeleted(OutboxService.CATEGORY, id);
+        cache.evict(id);
+        logger.info("Category {} deleted", id);
         return true;
     }
+
+    /**
+     * Locks the category in the caller's transaction, so that no post can be added to it until it ends.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockForUpdate(UUID id) throws CategoryNotFoundException {
+        repository.findByIdForUpdate(id)
+                .orElseThrow(() -> new CategoryNotFoundException(id));
+    }
+
+    /**
+     * Takes a post about to be deleted off the count of its category, in the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void decrementPostCountOf(UUID postId) {
+        repository.decrementPostCountOf(postId);
+    }
+
+    private static CategoryDTO toPayload(Category category) {
+        return new CategoryDTO(category.getId(), category.getName());
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
 }
@@ -0,0 +1,67 @@
+package com.dauphine.blogger_box_backend.service;
+
+import com.dauphine.blogger_box_backend.model.ChangeType;
+import com.dauphine.blogger_box_backend.model.OutboxEvent;
+import com.dauphine.blogger_box_backend.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Records change events in the outbox table. Must be called inside the transaction making the change,
+ * so the event is stored if and only if the change commits.
+ */
+@Service
+public class OutboxService {
+
+    public static final String POST = "post";
+    public static final String CATEGORY = "category";
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository repository) {
+        this.repository = repository;
+        // Same settings as the MVC message converters (WebConfig uses @EnableWebMvc), so payloads match the REST responses.
+        this.objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    /**
+     * Records a creation or an update, with the state after the change as payload.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String aggregateType, UUID aggregateId, ChangeType type, Object payload) {
+        repository.save(new OutboxEvent(aggregateType, aggregateId, type, toJson(payload)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(String aggregateType, UUID aggregateId) {
+        record(aggregateType, aggregateId, ChangeType.DELETED, Map.of("id", aggregateId));
+    }
+
+    /**
+     * Records one event per payload, inserted in JDBC batches.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(String aggregateType, ChangeType type, Map<UUID, ?> payloads) {
+        List<OutboxEvent> events = new ArrayList<>(payloads.size());
+        payloads.forEach((id, payload) -> events.add(new OutboxEvent(aggregateType, id, type, toJson(payload))));
+        repository.saveAll(events);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize change event payload " + payload.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.dauphine.blogger_box_backend.service;
+
+import com.dauphine.blogger_box_backend.exception.UnsupportedExportFormatException;
+import org.springframework.http.MediaType;
+
+public enum PostExportFormat {
+
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    PostExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static PostExportFormat fromParameter(String format) throws UnsupportedExportFormatException {
+        for (PostExportFormat exportFormat : values()) {
+            if (exportFormat.extension.equalsIgnoreCase(format)) {
+                return exportFormat;
+            }
+        }
+        throw new UnsupportedExportFormatException(format);
+    }
+}
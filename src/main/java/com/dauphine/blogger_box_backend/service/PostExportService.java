@@ -0,0 +1,119 @@
+package com.dauphine.blogger_box_backend.service;
+
+import com.dauphine.blogger_box_backend.dto.PostDTO;
+import com.dauphine.blogger_box_backend.model.Post;
+import com.dauphine.blogger_box_backend.repository.PostRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Writes every post to an output stream while holding a single row in memory at a time:
+ * rows come from a server-side cursor and each entity is detached once written. Both formats write the
+ * {@link PostDTO} of the post, so they hold the same values, formatted as the API formats them.
+ */
+@Service
+public class PostExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostExportService.class);
+
+    private static final int FLUSH_EVERY = 1000;
+    private static final String CSV_HEADER = "id,title,content,createdDate,categoryId";
+    // First characters of formulas, with tab and carriage return, which spreadsheets may strip before evaluating.
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final PostRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public PostExportService(PostRepository repository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public long export(PostExportFormat format, OutputStream outputStream) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == PostExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<Post> posts = repository.streamAll()) {
+            Iterator<Post> iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                Post post = iterator.next();
+                PostDTO postDTO = PostDTO.from(post);
+                if (format == PostExportFormat.CSV) {
+                    writeCsv(writer, postDTO);
+                } else {
+                    writeJson(writer, postDTO);
+                }
+                entityManager.detach(post);
+
+                // Blocking on the socket here is the backpressure: the cursor only advances as fast as the client reads.
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        logger.info("Exported {} posts as {}", count, format);
+        return count;
+    }
+
+    private void writeJson(Writer writer, PostDTO postDTO) throws IOException {
+        writer.write(objectMapper.writeValueAsString(postDTO));
+        writer.write('\n');
+    }
+
+    private static void writeCsv(Writer writer, PostDTO postDTO) throws IOException {
+        writeCsvField(writer, Objects.toString(postDTO.getId(), null));
+        writer.write(',');
+        writeCsvField(writer, postDTO.getTitle());
+        writer.write(',');
+        writeCsvField(writer, postDTO.getContent());
+        writer.write(',');
+        writeCsvField(writer, Objects.toString(postDTO.getCreatedDate(), null));
+        writer.write(',');
+        writeCsvField(writer, Objects.toString(postDTO.getCategoryId(), null));
+        writer.write('\n');
+    }
+
+    /**
+     * Writes a field, quoted when needed. Text a spreadsheet would evaluate as a formula is prefixed with a
+     * single quote, which makes it read as plain text.
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean quoted = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
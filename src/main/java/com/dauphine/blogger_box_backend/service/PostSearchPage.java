@@ -0,0 +1,16 @@
+package com.dauphine.blogger_box_backend.service;
+
+import com.dauphine.blogger_box_backend.dto.SearchCursor;
+import com.dauphine.blogger_box_backend.search.PostSearchHit;
+
+import java.util.List;
+
+/**
+ * One page of relevance-ranked search hits. {@code next} is null on the last page.
+ */
+public record PostSearchPage(List<PostSearchHit> hits, SearchCursor next) {
+
+    public String nextCursor() {
+        return next == null ? null : next.encode();
+    }
+}
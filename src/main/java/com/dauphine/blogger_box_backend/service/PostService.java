@@ -1,49 +1,134 @@
 package com.dauphine.blogger_box_backend.service;
 
+import com.dauphine.blogger_box_backend.cache.PostCache;
+import com.dauphine.blogger_box_backend.cache.PostResponseCache;
+import com.dauphine.blogger_box_backend.dto.BatchItemResultDTO;
+import com.dauphine.blogger_box_backend.dto.ChangeStamp;
+import com.dauphine.blogger_box_backend.dto.PostCategoryId;
+import com.dauphine.blogger_box_backend.dto.PostCursor;
+import com.dauphine.blogger_box_backend.dto.PostDTO;
+import com.dauphine.blogger_box_backend.dto.PostSummary;
+import com.dauphine.blogger_box_backend.dto.SearchCursor;
+import com.dauphine.blogger_box_backend.exception.BatchTooLargeException;
 import com.dauphine.blogger_box_backend.exception.CategoryNotFoundException;
 import com.dauphine.blogger_box_backend.exception.PostNotFoundException;
+import com.dauphine.blogger_box_backend.exception.PostVersionMismatchException;
 import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.model.ChangeType;
 import com.dauphine.blogger_box_backend.model.Post;
 import com.dauphine.blogger_box_backend.repository.PostRepository;
+import com.dauphine.blogger_box_backend.search.PostSearchEngine;
+import com.dauphine.blogger_box_backend.search.PostSearchHit;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("blogger.service")
 public class PostService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PostService.class);
+
+    private static final LocalDateTime MIN_CREATED_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+
     private final PostRepository repository;
     private final CategoryService categoryService;
+    private final PostSearchEngine searchEngine;
+    private final PostResponseCache responseCache;
+    private final PostCache postCache;
+    private final OutboxService outboxService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxBatchSize;
+    private final int excerptLength;
 
-    public PostService(PostRepository repository, CategoryService categoryService) {
+    public PostService(PostRepository repository,
+                       CategoryService categoryService,
+                       PostSearchEngine searchEngine,
+                       PostResponseCache responseCache,
+                       PostCache postCache,
+                       OutboxService outboxService,
+                       @Value("${blogger.pagination.default-size:20}") int defaultPageSize,
+                       @Value("${blogger.pagination.max-size:100}") int maxPageSize,
+                       @Value("${blogger.batch.max-size:1000}") int maxBatchSize,
+                       @Value("${blogger.posts.excerpt-length:200}") int excerptLength) {
         this.repository = repository;
         this.categoryService = categoryService;
+        this.searchEngine = searchEngine;
+        this.responseCache = responseCache;
+        this.postCache = postCache;
+        this.outboxService = outboxService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxBatchSize = maxBatchSize;
+        this.excerptLength = excerptLength;
     }
 
-    public List<Post> getAllPosts() {
-        List<Post> posts = repository.findAll();
-        System.out.println("Backend - PostService: " + posts.size() + " posts récupérés de la base de données");
-        return posts;
+    /**
+     * Returns the post from the {@link PostCache}. Hits do not open a transaction, and the loads of misses run
+     * in one of their own. The post is shared with other readers and must not be modified.
+     */
+    public Post getPostById(UUID id) throws PostNotFoundException {
+        return postCache.get(id)
+                .orElseThrow(() -> new PostNotFoundException(id));
     }
 
-    public Post getPostById(UUID id) throws PostNotFoundException {
+    // Managed instance of the current transaction, for changes.
+    private Post findPost(UUID id) throws PostNotFoundException {
         return repository.findById(id)
                 .orElseThrow(() -> new PostNotFoundException(id));
     }
 
+    @Transactional
     public Post createPost(String title, String content, UUID categoryId)
             throws CategoryNotFoundException {
         Category category = categoryService.getById(categoryId);
-        Post post = new Post(title, content, category);
-        return repository.save(post);
+        Post post = repository.save(new Post(title, content, category));
+        categoryService.adjustPostCounts(Map.of(categoryId, 1L));
+        outboxService.record(OutboxService.POST, post.getId(), ChangeType.CREATED, PostDTO.from(post));
+        searchEngine.index(post);
+        responseCache.evict(post.getId());
+        logger.info("Post {} created in category {}", post.getId(), categoryId);
+        return post;
     }
 
-    public Post updatePost(UUID id, String title, String content, UUID categoryId)
-            throws PostNotFoundException, CategoryNotFoundException {
-        Post post = getPostById(id);
+    /**
+     * Applies the non-null fields to the post. With an {@code expectedVersion}, the update only happens while the
+     * post is still at that version; without one it applies to the current version, and an update committed
+     * concurrently still makes the flush fail with an optimistic locking error.
+     */
+    @Transactional
+    public Post updatePost(UUID id, String title, String content, UUID categoryId, Long expectedVersion)
+            throws PostNotFoundException, CategoryNotFoundException, PostVersionMismatchException {
+        if (expectedVersion != null && categoryId == null) {
+            return updatePostIfVersion(id, title, content, expectedVersion);
+        }
+
+        Post post = findPost(id);
+        if (expectedVersion != null && !expectedVersion.equals(post.getVersion())) {
+            throw new PostVersionMismatchException(id);
+        }
+        Map<UUID, Long> postCountDeltas = new HashMap<>();
 
         if (title != null) {
             post.setTitle(title);
@@ -55,38 +140,383 @@ public class PostService {
 
         if (categoryId != null) {
             Category category = categoryService.getById(categoryId);
-            post.setCategory(category);
+            moveToCategory(post, category, postCountDeltas);
+        }
+
+        // Flushed now so the new version is known, and a concurrent update is reported against If-Match.
+        Post updatedPost;
+        try {
+            updatedPost = repository.saveAndFlush(post);
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersion == null) {
+                throw e;
+            }
+            throw new PostVersionMismatchException(id);
         }
+        categoryService.adjustPostCounts(postCountDeltas);
+        return publishUpdate(updatedPost);
+    }
+
+    /**
+     * Conditional update that does not load the post first: the version check and the write are a single
+     * UPDATE, and the post is read back only once it succeeded. Moving a post to another category needs its
+     * current category for the post counts, so that goes through {@link #updatePost} loading the post.
+     */
+    private Post updatePostIfVersion(UUID id, String title, String content, long expectedVersion)
+            throws PostNotFoundException, PostVersionMismatchException {
+        if (repository.updateIfVersion(id, expectedVersion, title, content, LocalDateTime.now()) == 0) {
+            if (!repository.existsById(id)) {
+                throw new PostNotFoundException(id);
+            }
+            throw new PostVersionMismatchException(id);
+        }
+        return publishUpdate(findPost(id));
+    }
 
-        return repository.save(post);
+    private Post publishUpdate(Post updatedPost) {
+        outboxService.record(OutboxService.POST, updatedPost.getId(), ChangeType.UPDATED, PostDTO.from(updatedPost));
+        searchEngine.index(updatedPost);
+        responseCache.evict(updatedPost.getId());
+        postCache.evict(updatedPost.getId());
+        logger.info("Post {} updated to version {}", updatedPost.getId(), updatedPost.getVersion());
+        return updatedPost;
     }
 
+    /**
+     * Deletes the post without loading it: the count of its category is decremented through a subquery, then a
+     * single DELETE tells from its row count whether the post existed.
+     */
+    @Transactional
     public boolean deletePost(UUID id) throws PostNotFoundException {
-        if (!repository.existsById(id)) {
+        categoryService.decrementPostCountOf(id);
+        if (repository.deleteByIdReturningCount(id) == 0) {
             throw new PostNotFoundException(id);
         }
-        repository.deleteById(id);
+        outboxService.recordDeleted(OutboxService.POST, id);
+        searchEngine.remove(id);
+        responseCache.evict(id);
+        postCache.evict(id);
+        logger.info("Post {} deleted", id);
         return true;
     }
 
-    public List<Post> getPostsByDate(LocalDate date) {
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
+    /**
+     * Deletes a category with all its posts. The category stays locked meanwhile so no post can be added to it;
+     * the ids of its posts are selected for the change events and the search index, and the posts are then
+     * deleted with a single statement, without being loaded.
+     */
+    @Transactional
+    public int deleteCategoryWithPosts(UUID categoryId) throws CategoryNotFoundException {
+        categoryService.lockForUpdate(categoryId);
+        List<UUID> postIds = repository.findIdsByCategoryId(categoryId);
+        if (!postIds.isEmpty()) {
+            repository.deleteAllByCategoryId(categoryId);
+            postIds.forEach(id -> outboxService.recordDeleted(OutboxService.POST, id));
+        }
+        categoryService.deleteById(categoryId);
+        postIds.forEach(searchEngine::remove);
+        responseCache.evictAll();
+        postCache.evict(postIds);
+        logger.info("Deleted {} posts with category {}", postIds.size(), categoryId);
+        return postIds.size();
+    }
+
+    /**
+     * Creates every item whose category exists, in one transaction. Categories are resolved
+     * with one query and the posts are written with batched INSERTs (no select-before-insert,
+     * since a new post has no version yet).
+     */
+    @Transactional
+    public List<BatchItemResultDTO> createPosts(List<PostDTO> items) throws BatchTooLargeException {
+        checkBatchSize(items.size());
+        Map<UUID, Category> categories = categoryService.getByIds(categoryIds(items));
+
+        List<BatchItemResultDTO> results = new ArrayList<>(items.size());
+        List<Post> posts = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            PostDTO item = items.get(i);
+            if (item.getCategoryId() == null) {
+                results.add(BatchItemResultDTO.failure(i, null, HttpStatus.BAD_REQUEST.value(), "Missing category id"));
+                continue;
+            }
+            Category category = categories.get(item.getCategoryId());
+            if (category == null) {
+                results.add(BatchItemResultDTO.failure(i, null, HttpStatus.NOT_FOUND.value(),
+                        new CategoryNotFoundException(item.getCategoryId()).getMessage()));
+                continue;
+            }
+            Post post = new Post(item.getTitle(), item.getContent(), category);
+            posts.add(post);
+            results.add(BatchItemResultDTO.success(i, post.getId(), HttpStatus.CREATED.value()));
+        }
+
+        repository.saveAll(posts);
+        categoryService.adjustPostCounts(posts.stream()
+                .collect(Collectors.groupingBy(post -> post.getCategory().getId(), Collectors.counting())));
+        outboxService.recordAll(OutboxService.POST, ChangeType.CREATED, toPayloads(posts));
+        posts.forEach(searchEngine::index);
+        responseCache.evictAll();
+        logger.info("Batch created {} of {} posts", posts.size(), items.size());
+        return results;
+    }
+
+    /**
+     * Applies the non-null fields of every item to the post with the same id. Posts and categories
+     * are each loaded with one query and changes are flushed as batched UPDATEs.
+     */
+    @Transactional
+    public List<BatchItemResultDTO> patchPosts(List<PostDTO> items) throws BatchTooLargeException {
+        checkBatchSize(items.size());
+        List<UUID> ids = items.stream().map(PostDTO::getId).filter(Objects::nonNull).toList();
+        Map<UUID, Post> posts = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        Map<UUID, Category> categories = categoryService.getByIds(categoryIds(items));
+
+        List<BatchItemResultDTO> results = new ArrayList<>(items.size());
+        Set<Post> updatedPosts = new LinkedHashSet<>();
+        Map<UUID, Long> postCountDeltas = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            PostDTO item = items.get(i);
+            if (item.getId() == null) {
+                results.add(BatchItemResultDTO.failure(i, null, HttpStatus.BAD_REQUEST.value(), "Missing post id"));
+                continue;
+            }
+            Post post = posts.get(item.getId());
+            if (post == null) {
+                results.add(BatchItemResultDTO.failure(i, item.getId(), HttpStatus.NOT_FOUND.value(),
+                        new PostNotFoundException(item.getId()).getMessage()));
+                continue;
+            }
+            Category category = item.getCategoryId() == null ? null : categories.get(item.getCategoryId());
+            if (item.getCategoryId() != null && category == null) {
+                results.add(BatchItemResultDTO.failure(i, item.getId(), HttpStatus.NOT_FOUND.value(),
+                        new CategoryNotFoundException(item.getCategoryId()).getMessage()));
+                continue;
+            }
+
+            if (item.getTitle() != null) {
+                post.setTitle(item.getTitle());
+            }
+            if (item.getContent() != null) {
+                post.setContent(item.getContent());
+            }
+            if (category != null) {
+                moveToCategory(post, category, postCountDeltas);
+            }
+            updatedPosts.add(post);
+            results.add(BatchItemResultDTO.success(i, post.getId(), HttpStatus.OK.value()));
+        }
+
+        repository.flush();
+        categoryService.adjustPostCounts(postCountDeltas);
+        outboxService.recordAll(OutboxService.POST, ChangeType.UPDATED, toPayloads(updatedPosts));
+        updatedPosts.forEach(searchEngine::index);
+        responseCache.evictAll();
+        postCache.evict(updatedPosts.stream().map(Post::getId).toList());
+        logger.info("Batch updated {} of {} posts", updatedPosts.size(), items.size());
+        return results;
+    }
+
+    /**
+     * Deletes the existing posts among {@code ids} with one locking SELECT of their categories and one
+     * DELETE ... IN statement. The lock makes a concurrent batch deleting or moving the same posts wait, so the
+     * post counts and the per-item results come from the posts this transaction actually deleted.
+     */
+    @Transactional
+    public List<BatchItemResultDTO> deletePosts(List<UUID> ids) throws BatchTooLargeException {
+        checkBatchSize(ids.size());
+        Set<UUID> requestedIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        List<PostCategoryId> deleted = requestedIds.isEmpty()
+                ? List.of()
+                : repository.findCategoryIdsForUpdate(requestedIds);
+        Set<UUID> deletedIds = deleted.stream().map(PostCategoryId::postId).collect(Collectors.toSet());
+        if (!deletedIds.isEmpty()) {
+            int count = repository.deleteAllByIdReturningCount(deletedIds);
+            if (count != deletedIds.size()) {
+                throw new IllegalStateException("Deleted " + count + " of " + deletedIds.size() + " locked posts");
+            }
+            categoryService.adjustPostCounts(deleted.stream()
+                    .filter(post -> post.categoryId() != null)
+                    .collect(Collectors.groupingBy(PostCategoryId::categoryId, Collectors.summingLong(post -> -1L))));
+            deletedIds.forEach(id -> outboxService.recordDeleted(OutboxService.POST, id));
+        }
+
+        List<BatchItemResultDTO> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            UUID id = ids.get(i);
+            if (id != null && deletedIds.contains(id)) {
+                results.add(BatchItemResultDTO.success(i, id, HttpStatus.NO_CONTENT.value()));
+            } else {
+                results.add(BatchItemResultDTO.failure(i, id, HttpStatus.NOT_FOUND.value(),
+                        new PostNotFoundException(id).getMessage()));
+            }
+        }
+
+        deletedIds.forEach(searchEngine::remove);
+        responseCache.evictAll();
+        postCache.evict(deletedIds);
+        logger.info("Batch deleted {} of {} posts", deletedIds.size(), ids.size());
+        return results;
+    }
+
+    @Transactional(readOnly = true)
+    public PostPage getPostsByDate(LocalDate date, PostCursor cursor, Integer size) {
+        return getPostsBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay(), cursor, size);
+    }
+
+    /**
+     * Returns one page of posts created in the half-open window [start, end), newest first.
+     * Either bound may be null to leave that side of the window open.
+     */
+    @Transactional(readOnly = true)
+    public PostPage getPostsBetween(LocalDateTime start, LocalDateTime end, PostCursor cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<Post> posts = repository.findPage(
+                start == null ? MIN_CREATED_DATE : start,
+                end == null ? PostCursor.FIRST.createdDate() : end,
+                cursor.createdDate(),
+                cursor.id(),
+                Limit.of(pageSize + 1));
+        return toPage(posts, pageSize);
+    }
 
-        return repository.findAll().stream()
-                .filter(post -> {
-                    LocalDateTime postDate = post.getCreatedDate();
-                    return postDate.isAfter(startOfDay) && postDate.isBefore(endOfDay);
-                })
-                .toList();
+    @Transactional(readOnly = true)
+    public PostPage getPostsByCategoryId(UUID categoryId, PostCursor cursor, Integer size)
+            throws CategoryNotFoundException {
+        Category category = categoryService.getById(categoryId);
+        int pageSize = resolvePageSize(size);
+        List<Post> posts = repository.findPageByCategory(
+                category, cursor.createdDate(), cursor.id(), Limit.of(pageSize + 1));
+        return toPage(posts, pageSize);
     }
 
-    public List<Post> getPostsByCategoryId(UUID categoryId) throws CategoryNotFoundException {
+    @Transactional(readOnly = true)
+    public PostSummaryPage getPostSummariesByDate(LocalDate date, PostCursor cursor, Integer size) {
+        return getPostSummariesBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay(), cursor, size);
+    }
+
+    /**
+     * Same page as {@link #getPostsBetween} as summaries, without loading the content of the posts.
+     */
+    @Transactional(readOnly = true)
+    public PostSummaryPage getPostSummariesBetween(LocalDateTime start, LocalDateTime end, PostCursor cursor,
+                                                   Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<PostSummary> summaries = repository.findSummaryPage(
+                start == null ? MIN_CREATED_DATE : start,
+                end == null ? PostCursor.FIRST.createdDate() : end,
+                cursor.createdDate(),
+                cursor.id(),
+                excerptLength,
+                Limit.of(pageSize + 1));
+        return toSummaryPage(summaries, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public PostSummaryPage getPostSummariesByCategoryId(UUID categoryId, PostCursor cursor, Integer size)
+            throws CategoryNotFoundException {
         Category category = categoryService.getById(categoryId);
-        return repository.findByCategoryOrderByCreatedDateDesc(category);
+        int pageSize = resolvePageSize(size);
+        List<PostSummary> summaries = repository.findSummaryPageByCategoryId(
+                category.getId(), cursor.createdDate(), cursor.id(), excerptLength, Limit.of(pageSize + 1));
+        return toSummaryPage(summaries, pageSize);
+    }
+
+    /**
+     * Summary of an already loaded post, with the excerpt cut the way the database cuts it.
+     */
+    public PostSummary summarize(Post post) {
+        String content = post.getContent();
+        String excerpt = content == null || content.codePointCount(0, content.length()) <= excerptLength
+                ? content
+                : content.substring(0, content.offsetByCodePoints(0, excerptLength));
+        return new PostSummary(post.getId(), post.getTitle(), post.getCreatedDate(),
+                post.getCategory().getId(), excerpt);
+    }
+
+    /**
+     * Full-text search over title and content, most relevant first.
+     */
+    @Transactional(readOnly = true)
+    public PostSearchPage getPostsByTitleOrContent(String value, SearchCursor cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<PostSearchHit> hits = searchEngine.search(value, cursor.offset(), pageSize + 1);
+        if (hits.size() <= pageSize) {
+            return new PostSearchPage(hits, null);
+        }
+        return new PostSearchPage(hits.subList(0, pageSize), new SearchCursor(cursor.offset() + pageSize));
+    }
+
+    /**
+     * Summary of the post table used to validate cached listings without loading them.
+     */
+    @Transactional(readOnly = true)
+    public ChangeStamp getChangeStamp() {
+        return repository.findChangeStamp();
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeStamp getChangeStampByCategoryId(UUID categoryId) {
+        return repository.findChangeStampByCategoryId(categoryId);
     }
 
-    public List<Post> getPostsByTitleOrContent(String value) {
-        return repository.findByTitleOrContentContaining(value);
+    /**
+     * Moves the post to {@code category}, recording the post count change of both categories.
+     */
+    private static void moveToCategory(Post post, Category category, Map<UUID, Long> postCountDeltas) {
+        UUID previousCategoryId = post.getCategory().getId();
+        if (!previousCategoryId.equals(category.getId())) {
+            postCountDeltas.merge(previousCategoryId, -1L, Long::sum);
+            postCountDeltas.merge(category.getId(), 1L, Long::sum);
+        }
+        post.setCategory(category);
+    }
+
+    private void checkBatchSize(int size) throws BatchTooLargeException {
+        if (size > maxBatchSize) {
+            throw new BatchTooLargeException(size, maxBatchSize);
+        }
+    }
+
+    private static Map<UUID, PostDTO> toPayloads(Collection<Post> posts) {
+        Map<UUID, PostDTO> payloads = new LinkedHashMap<>();
+        posts.forEach(post -> payloads.put(post.getId(), PostDTO.from(post)));
+        return payloads;
+    }
+
+    private static Set<UUID> categoryIds(List<PostDTO> items) {
+        return items.stream()
+                .map(PostDTO::getCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    /**
+     * Queries fetch one row more than the page size so the presence of a next page
+     * is known without a separate count query.
+     */
+    private PostPage toPage(List<Post> posts, int pageSize) {
+        if (posts.size() <= pageSize) {
+            return new PostPage(posts, null);
+        }
+        List<Post> page = posts.subList(0, pageSize);
+        Post last = page.get(pageSize - 1);
+        return new PostPage(page, new PostCursor(last.getCreatedDate(), last.getId()));
+    }
+
+    private PostSummaryPage toSummaryPage(List<PostSummary> summaries, int pageSize) {
+        if (summaries.size() <= pageSize) {
+            return new PostSummaryPage(summaries, null);
+        }
+        List<PostSummary> page = summaries.subList(0, pageSize);
+        PostSummary last = page.get(pageSize - 1);
+        return new PostSummaryPage(page, new PostCursor(last.createdDate(), last.id()));
     }
 }
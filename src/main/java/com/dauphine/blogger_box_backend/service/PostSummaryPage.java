@@ -0,0 +1,16 @@
+package com.dauphine.blogger_box_backend.service;
+
+import com.dauphine.blogger_box_backend.dto.PostCursor;
+import com.dauphine.blogger_box_backend.dto.PostSummary;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing of post summaries. {@code next} is null on the last page.
+ */
+public record PostSummaryPage(List<PostSummary> summaries, PostCursor next) {
+
+    public String nextCursor() {
+        return next == null ? null : next.encode();
+    }
+}
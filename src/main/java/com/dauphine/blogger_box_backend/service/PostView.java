@@ -0,0 +1,27 @@
+package com.dauphine.blogger_box_backend.service;
+
+import com.dauphine.blogger_box_backend.exception.UnsupportedPostViewException;
+
+/**
+ * Representation of the posts in a listing: the full posts, or summaries carrying an excerpt of the content.
+ */
+public enum PostView {
+
+    FULL("full"),
+    SUMMARY("summary");
+
+    private final String parameter;
+
+    PostView(String parameter) {
+        this.parameter = parameter;
+    }
+
+    public static PostView fromParameter(String view) throws UnsupportedPostViewException {
+        for (PostView postView : values()) {
+            if (postView.parameter.equalsIgnoreCase(view)) {
+                return postView;
+            }
+        }
+        throw new UnsupportedPostViewException(view);
+    }
+}
@@ -0,0 +1,15 @@
+-- Schema the application was first deployed with, created by hand before migrations existed.
+-- Databases created that way are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE category (
+    id   UUID PRIMARY KEY,
+    name VARCHAR(255)
+);
+
+CREATE TABLE post (
+    id           UUID PRIMARY KEY,
+    title        VARCHAR(255),
+    content      TEXT,
+    created_date TIMESTAMP(6),
+    category_id  UUID REFERENCES category (id)
+);
@@ -0,0 +1,9 @@
+-- Optimistic-lock versions and last update dates, which the ETag and Last-Modified validators are built from.
+
+ALTER TABLE category ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE category ADD COLUMN IF NOT EXISTS updated_date TIMESTAMP(6);
+
+ALTER TABLE post ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE post ADD COLUMN IF NOT EXISTS updated_date TIMESTAMP(6);
+
+UPDATE post SET updated_date = created_date WHERE updated_date IS NULL;
@@ -0,0 +1,6 @@
+-- Post counter of each category, maintained by the application with relative updates.
+
+ALTER TABLE category ADD COLUMN IF NOT EXISTS post_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE category c
+SET post_count = (SELECT COUNT(*) FROM post p WHERE p.category_id = c.id);
@@ -0,0 +1,17 @@
+-- Transactional outbox relayed to the event streams. The sequence increment matches the allocation size
+-- of the entity, which takes 50 ids per round-trip.
+
+CREATE SEQUENCE IF NOT EXISTS outbox_event_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id             BIGINT PRIMARY KEY,
+    aggregate_type VARCHAR(255) NOT NULL,
+    aggregate_id   UUID         NOT NULL,
+    type           VARCHAR(255) NOT NULL,
+    payload        TEXT         NOT NULL,
+    created_date   TIMESTAMP(6) NOT NULL,
+    published_date TIMESTAMP(6)
+);
+
+-- Published events expired for the cleanup.
+CREATE INDEX IF NOT EXISTS idx_outbox_event_published_date ON outbox_event (published_date, id);
@@ -0,0 +1,78 @@
+-- Indexes behind the repository queries, built without blocking writes to existing tables.
+-- Concurrent builds cannot run in a transaction, see V5__performance_indexes.sql.conf. A build interrupted
+-- midway leaves an invalid index behind, which IF NOT EXISTS would keep: a new run drops those first.
+
+DO $$
+DECLARE
+    invalid RECORD;
+BEGIN
+    FOR invalid IN
+        SELECT index_class.relname
+        FROM pg_index i
+        JOIN pg_class index_class ON index_class.oid = i.indexrelid
+        WHERE NOT i.indisvalid
+          AND index_class.relnamespace = current_schema()::regnamespace
+          AND index_class.relname IN ('idx_post_created_date', 'idx_post_category_created_date',
+                                      'idx_post_updated_date', 'idx_post_fts', 'idx_outbox_event_unpublished',
+                                      'uk_category_name_lower')
+    LOOP
+        RAISE NOTICE 'Dropping invalid index % left by an interrupted build', invalid.relname;
+        EXECUTE format('DROP INDEX %I', invalid.relname);
+    END LOOP;
+END
+$$;
+
+-- Listings newest first, with the id breaking ties as in the keyset pagination.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_post_created_date
+    ON post (created_date DESC, id DESC);
+
+-- Listings of a category; also the index of the category_id foreign key, used by category deletes
+-- and the per-category aggregates.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_post_category_created_date
+    ON post (category_id, created_date DESC, id DESC);
+
+-- Latest update date of the change stamps.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_post_updated_date
+    ON post (updated_date);
+
+-- Text search configuration of the post search: the 'simple' parser and dictionary, with accents removed
+-- from words first so that "ete" matches "été". unaccent() itself is not immutable and cannot appear in an
+-- index expression, whereas a configuration named by a constant can.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'blogger_search') THEN
+        CREATE TEXT SEARCH CONFIGURATION blogger_search (COPY = simple);
+        ALTER TEXT SEARCH CONFIGURATION blogger_search
+            ALTER MAPPING FOR word, hword, hword_part WITH unaccent, simple;
+    END IF;
+END
+$$;
+
+-- Full-text search; the expression must stay identical to the one of PostgresPostSearchEngine.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_post_fts
+    ON post USING GIN (to_tsvector('blogger_search', coalesce(title, '') || ' ' || coalesce(content, '')));
+
+-- Unpublished events in id order for the relay. They are always the latest ones, which the planner cannot
+-- tell from statistics: without this index it walks the primary key through every published event.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_outbox_event_unpublished
+    ON outbox_event (id) WHERE published_date IS NULL;
+
+-- Category names differing only in case, which nothing prevented before the index below and which would make
+-- its build fail: the category with the most posts keeps its name, the others get the start of their id appended.
+UPDATE category c
+SET name = left(c.name, 244) || ' (' || left(c.id::text, 8) || ')',
+    version = c.version + 1,
+    updated_date = LOCALTIMESTAMP
+FROM (
+    SELECT id, row_number() OVER (PARTITION BY lower(name) ORDER BY post_count DESC, id) AS rank
+    FROM category
+    WHERE name IS NOT NULL
+) duplicate
+WHERE c.id = duplicate.id
+  AND duplicate.rank > 1;
+
+-- Case-insensitive unique category names, also used by the exact name lookup.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_category_name_lower
+    ON category (lower(name));
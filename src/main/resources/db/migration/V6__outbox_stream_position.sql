@@ -0,0 +1,19 @@
+-- Offsets of the change stream, assigned by the relay when it publishes an event. Relays take the single
+-- outbox_relay_position row lock while they claim a batch, so batches are numbered one after the other, in the
+-- order they commit, and a client resuming after an offset cannot miss an event committed later with a lower id.
+-- Events already published keep their id as position, which is the offset their clients last received.
+
+ALTER TABLE outbox_event ADD COLUMN IF NOT EXISTS stream_position BIGINT;
+
+UPDATE outbox_event SET stream_position = id WHERE published_date IS NOT NULL AND stream_position IS NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_outbox_event_stream_position ON outbox_event (stream_position);
+
+CREATE TABLE IF NOT EXISTS outbox_relay_position (
+    name          VARCHAR(64) PRIMARY KEY,
+    last_position BIGINT      NOT NULL
+);
+
+INSERT INTO outbox_relay_position (name, last_position)
+SELECT 'outbox', COALESCE(MAX(stream_position), 0) FROM outbox_event
+ON CONFLICT (name) DO NOTHING;
@@ -0,0 +1,144 @@
+package com.dauphine.blogger_box_backend.cache;
+
+import com.dauphine.blogger_box_backend.model.Category;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryCacheTest {
+
+    private final LocalCacheInvalidationBus invalidationBus = new LocalCacheInvalidationBus();
+    private final CategoryCache cache = new CategoryCache(invalidationBus, new SimpleMeterRegistry(), 100,
+            Duration.ofMinutes(10));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void loadsACategoryOnceAndDoesNotCacheAbsentOnes() {
+        Category category = new Category("category");
+        AtomicInteger loads = new AtomicInteger();
+        Function<UUID, Optional<Category>> loader = id -> {
+            loads.incrementAndGet();
+            return id.equals(category.getId()) ? Optional.of(category) : Optional.empty();
+        };
+        UUID absent = UUID.randomUUID();
+
+        assertThat(cache.get(category.getId(), loader)).containsSame(category);
+        assertThat(cache.get(category.getId(), loader)).containsSame(category);
+        assertThat(cache.get(absent, loader)).isEmpty();
+        assertThat(cache.get(absent, loader)).isEmpty();
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void loadsOnlyTheMissingCategoriesWithASingleCall() {
+        Category cached = new Category("cached");
+        Category missing = new Category("missing");
+        cache.get(cached.getId(), id -> Optional.of(cached));
+        List<Set<UUID>> calls = new ArrayList<>();
+
+        Map<UUID, Category> categories = cache.getAll(List.of(cached.getId(), missing.getId()), ids -> {
+            calls.add(ids);
+            return Map.of(missing.getId(), missing);
+        });
+
+        assertThat(categories).containsOnlyKeys(cached.getId(), missing.getId());
+        assertThat(calls).containsExactly(Set.of(missing.getId()));
+    }
+
+    @Test
+    void evictingACategoryDropsItAndTheFullList() {
+        Category category = new Category("category");
+        cache.get(category.getId(), id -> Optional.of(category));
+        cache.getAll(() -> List.of(category));
+
+        Category renamed = new Category("renamed");
+        cache.evict(category.getId());
+
+        assertThat(cache.get(category.getId(), id -> Optional.of(renamed))).containsSame(renamed);
+        assertThat(cache.getAll(() -> List.of(renamed))).containsExactly(renamed);
+    }
+
+    @Test
+    void evictionsInATransactionWaitForTheCommit() {
+        Category category = new Category("category");
+        Category renamed = new Category("renamed");
+        cache.get(category.getId(), id -> Optional.of(category));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evict(category.getId());
+        // A read concurrent with the transaction still sees, and may load, the committed category.
+        assertThat(cache.get(category.getId(), id -> Optional.of(category))).containsSame(category);
+        commit();
+
+        assertThat(cache.get(category.getId(), id -> Optional.of(renamed))).containsSame(renamed);
+    }
+
+    @Test
+    void evictionsOfARolledBackTransactionAreDropped() {
+        Category category = new Category("category");
+        cache.get(category.getId(), id -> Optional.of(category));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evictAll();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(cache.get(category.getId(), id -> Optional.empty())).containsSame(category);
+    }
+
+    @Test
+    void invalidationsPublishedByOtherNodesEvictLocally() {
+        Category first = new Category("first");
+        Category second = new Category("second");
+        cache.get(first.getId(), id -> Optional.of(first));
+        cache.get(second.getId(), id -> Optional.of(second));
+
+        invalidationBus.publish(CategoryCache.NAME, first.getId().toString());
+
+        assertThat(cache.get(first.getId(), id -> Optional.empty())).isEmpty();
+        assertThat(cache.get(second.getId(), id -> Optional.empty())).containsSame(second);
+
+        invalidationBus.publish(CategoryCache.NAME, null);
+
+        assertThat(cache.get(second.getId(), id -> Optional.empty())).isEmpty();
+    }
+
+    @Test
+    void otherCachesInvalidationsAreIgnored() {
+        Category category = new Category("category");
+        cache.get(category.getId(), id -> Optional.of(category));
+
+        invalidationBus.publish(PostCache.NAME, null);
+
+        assertThat(cache.getAll(List.of(category.getId()), ids -> ids.stream()
+                .collect(Collectors.toMap(Function.identity(), id -> new Category("reloaded")))))
+                .containsEntry(category.getId(), category);
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -0,0 +1,152 @@
+package com.dauphine.blogger_box_backend.cache;
+
+import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.model.Post;
+import com.dauphine.blogger_box_backend.repository.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostCacheTest {
+
+    private final PostRepository repository = mock(PostRepository.class);
+    private final InMemorySharedPostCache sharedCache = new InMemorySharedPostCache();
+    private PostCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PostCache(repository, sharedCache, new LocalCacheInvalidationBus(), new SimpleMeterRegistry(),
+                new SimpleAsyncTaskExecutor(), 100, Duration.ofMinutes(10), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void concurrentMissesOnAPostShareASingleLoad() throws Exception {
+        Post post = new Post("title", "content", new Category("category"));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findById(post.getId())).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.of(post);
+        });
+
+        List<Future<Optional<Post>>> reads = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 16; i++) {
+                reads.add(executor.submit(() -> cache.get(post.getId())));
+            }
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+        }
+
+        for (Future<Optional<Post>> read : reads) {
+            assertThat(read.get()).containsSame(post);
+        }
+        verify(repository, times(1)).findById(post.getId());
+        assertThat(sharedCache.posts).containsKey(post.getId());
+    }
+
+    @Test
+    void missesAreServedFromTheSharedLevelBeforeTheDatabase() {
+        Post post = new Post("title", "content", new Category("category"));
+        sharedCache.put(post, sharedCache.generation(post.getId()));
+
+        assertThat(cache.get(post.getId())).containsSame(post);
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void evictionDropsBothLevelsAndTheNextReadLoadsTheCurrentPost() {
+        Post post = new Post("title", "content", new Category("category"));
+        Post updated = new Post(post.getId(), "title-2", "content", post.getCreatedDate(), post.getUpdatedDate(),
+                1L, post.getCategory());
+        when(repository.findById(post.getId())).thenReturn(Optional.of(post)).thenReturn(Optional.of(updated));
+        cache.get(post.getId());
+
+        cache.evict(post.getId());
+
+        assertThat(sharedCache.evicted).containsExactly(post.getId());
+        assertThat(cache.get(post.getId())).containsSame(updated);
+        verify(repository, times(2)).findById(post.getId());
+    }
+
+    @Test
+    void aPostLoadedBeforeAChangeCommittedIsNotStoredInTheSharedLevelAfterItsEviction() {
+        Post post = new Post("title", "content", new Category("category"));
+        when(repository.findById(post.getId())).thenAnswer(invocation -> {
+            // Another node commits a change to the post and evicts it while this one still holds the old copy.
+            sharedCache.evict(List.of(post.getId()));
+            return Optional.of(post);
+        });
+
+        assertThat(cache.get(post.getId())).containsSame(post);
+
+        assertThat(sharedCache.posts).doesNotContainKey(post.getId());
+    }
+
+    @Test
+    void absentPostsAreNotCached() {
+        UUID id = UUID.randomUUID();
+        when(repository.findById(id)).thenReturn(Optional.empty());
+
+        assertThat(cache.get(id)).isEmpty();
+        assertThat(cache.get(id)).isEmpty();
+        verify(repository, times(2)).findById(id);
+    }
+
+    private static class InMemorySharedPostCache implements SharedPostCache {
+
+        private final Map<UUID, Post> posts = new ConcurrentHashMap<>();
+        private final Map<UUID, Long> generations = new ConcurrentHashMap<>();
+        private final List<UUID> evicted = new ArrayList<>();
+
+        @Override
+        public Optional<Post> get(UUID id) {
+            return Optional.ofNullable(posts.get(id));
+        }
+
+        @Override
+        public long generation(UUID id) {
+            return generations.getOrDefault(id, 0L);
+        }
+
+        @Override
+        public synchronized void put(Post post, long generation) {
+            if (generation(post.getId()) == generation) {
+                posts.put(post.getId(), post);
+            }
+        }
+
+        @Override
+        public synchronized void evict(Collection<UUID> ids) {
+            evicted.addAll(ids);
+            for (UUID id : ids) {
+                posts.remove(id);
+                generations.merge(id, 1L, Long::sum);
+            }
+        }
+    }
+}
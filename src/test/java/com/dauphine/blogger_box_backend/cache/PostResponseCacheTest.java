@@ -0,0 +1,77 @@
+package com.dauphine.blogger_box_backend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostResponseCacheTest {
+
+    private final PostResponseCache cache = new PostResponseCache(new LocalCacheInvalidationBus(),
+            new SimpleMeterRegistry(), DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void responseBuiltAcrossAnEvictionIsDropped() {
+        long generation = cache.generation();
+        // A write commits while the response is being built from the state it replaced.
+        cache.evictAll();
+        cache.put("/v1/posts", response(null), generation);
+
+        assertThat(cache.get("/v1/posts")).isNull();
+
+        cache.put("/v1/posts", response(null), cache.generation());
+
+        assertThat(cache.get("/v1/posts")).isNotNull();
+    }
+
+    @Test
+    void evictingAPostDropsItsResponsesAndEveryListing() {
+        UUID postId = UUID.randomUUID();
+        UUID otherPostId = UUID.randomUUID();
+        cache.put("/v1/posts", response(null), cache.generation());
+        cache.put("/v1/posts/" + postId, response(postId), cache.generation());
+        cache.put("/v1/posts/" + otherPostId, response(otherPostId), cache.generation());
+
+        cache.evict(postId);
+
+        assertThat(cache.get("/v1/posts")).isNull();
+        assertThat(cache.get("/v1/posts/" + postId)).isNull();
+        assertThat(cache.get("/v1/posts/" + otherPostId)).isNotNull();
+    }
+
+    @Test
+    void evictionsInATransactionWaitForTheCommit() {
+        cache.put("/v1/posts", response(null), cache.generation());
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evictAll();
+        assertThat(cache.get("/v1/posts")).isNotNull();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.get("/v1/posts")).isNull();
+    }
+
+    private static CachedResponse response(UUID postId) {
+        return new CachedResponse(postId, null, "application/json", Map.of(), "\"etag\"", -1,
+                "[]".getBytes(StandardCharsets.UTF_8), null);
+    }
+}
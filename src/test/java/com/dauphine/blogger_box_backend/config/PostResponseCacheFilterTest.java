@@ -0,0 +1,130 @@
+package com.dauphine.blogger_box_backend.config;
+
+import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.model.Post;
+import com.dauphine.blogger_box_backend.service.CategoryService;
+import com.dauphine.blogger_box_backend.service.PostService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Runs the post read endpoints through the filter on H2. Hits are told apart from misses by the SQL statements
+ * Hibernate prepares meanwhile; the outbox relay is slowed down so that it runs none during the tests.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:post-response-cache-filter;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "blogger.search.engine=memory",
+        "server.compression.min-response-size=1KB",
+        "blogger.outbox.relay-interval=1h",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class PostResponseCacheFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Post post;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Category category = categoryService.create("category-" + UUID.randomUUID());
+        // Enough posts for the listing to be worth compressing.
+        for (int i = 0; i < 10; i++) {
+            post = postService.createPost("title " + i, "content ".repeat(20), category.getId());
+        }
+    }
+
+    @Test
+    void hitsAreServedWithoutSql() throws Exception {
+        Counted miss = perform(get("/v1/posts"));
+        Counted hit = perform(get("/v1/posts"));
+
+        assertThat(miss.statements()).isPositive();
+        assertThat(hit.statements()).isZero();
+        assertThat(hit.result().getResponse().getStatus()).isEqualTo(200);
+        assertThat(hit.result().getResponse().getContentAsString())
+                .isEqualTo(miss.result().getResponse().getContentAsString())
+                .contains(post.getId().toString());
+        assertThat(hit.result().getResponse().getHeader(HttpHeaders.ETAG))
+                .isEqualTo(miss.result().getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void largeBodiesAreGzippedForClientsAcceptingIt() throws Exception {
+        byte[] identity = perform(get("/v1/posts")).result().getResponse().getContentAsByteArray();
+
+        MvcResult gzipped = perform(get("/v1/posts").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip")).result();
+        MvcResult refused = perform(get("/v1/posts").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0")).result();
+
+        assertThat(gzipped.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gunzip(gzipped.getResponse().getContentAsByteArray())).isEqualTo(identity);
+        assertThat(refused.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(refused.getResponse().getContentAsByteArray()).isEqualTo(identity);
+    }
+
+    @Test
+    void conditionalHitsAreAnsweredFromTheStoredETag() throws Exception {
+        String etag = perform(get("/v1/posts/" + post.getId())).result().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Counted notModified = perform(get("/v1/posts/" + post.getId()).header(HttpHeaders.IF_NONE_MATCH, etag));
+        Counted modified = perform(get("/v1/posts/" + post.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"other\""));
+
+        assertThat(etag).isNotNull();
+        assertThat(notModified.result().getResponse().getStatus()).isEqualTo(304);
+        assertThat(notModified.result().getResponse().getContentAsByteArray()).isEmpty();
+        assertThat(notModified.statements()).isZero();
+        assertThat(modified.result().getResponse().getStatus()).isEqualTo(200);
+        assertThat(modified.statements()).isZero();
+    }
+
+    private Counted perform(RequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+        MvcResult result = mockMvc.perform(request).andReturn();
+        return new Counted(result, statistics.getPrepareStatementCount() - before);
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return input.readAllBytes();
+        }
+    }
+
+    private record Counted(MvcResult result, long statements) {
+    }
+}
@@ -0,0 +1,233 @@
+package com.dauphine.blogger_box_backend.config;
+
+import com.dauphine.blogger_box_backend.cache.LocalCacheInvalidationBus;
+import com.dauphine.blogger_box_backend.cache.PostResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between embedded databases that each hold their own name, so a query tells which one answered.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT seconds FROM replica_lag";
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica1;
+    private EmbeddedDatabase replica2;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica1 = database("replica-1");
+        replica2 = database("replica-2");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(5), LAG_QUERY);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        // The proxy reads the connection defaults from a first connection, taken from the primary.
+        node();
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica1.shutdown();
+        replica2.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionsAreBalancedOverTheReplicas() {
+        assertThat(readOnlyNode()).isEqualTo("replica-1");
+        assertThat(readOnlyNode()).isEqualTo("replica-2");
+        assertThat(readOnlyNode()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void readWriteTransactionsAndStatementsOutsideTransactionsUseThePrimary() {
+        assertThat(readWriteNode()).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+    }
+
+    @Test
+    void readsOfAClientUseThePrimaryRightAfterItsWrite() {
+        AtomicInteger fences = new AtomicInteger();
+        routingDataSource.openWriterScope(false, fences::incrementAndGet);
+        try {
+            assertThat(readOnlyNode()).isEqualTo("replica-1");
+            readWriteNode();
+            readWriteNode();
+
+            assertThat(readOnlyNode()).isEqualTo("primary");
+            assertThat(fences).hasValue(1);
+        } finally {
+            routingDataSource.closeWriterScope();
+        }
+        assertThat(readOnlyNode()).isEqualTo("replica-2");
+    }
+
+    @Test
+    void readsOfOtherClientsKeepUsingTheReplicasWhileWritesHappen() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch read = new CountDownLatch(1);
+        CompletableFuture<String> writer = CompletableFuture.supplyAsync(() -> {
+            routingDataSource.openWriterScope(false, () -> { });
+            try {
+                readWriteNode();
+                written.countDown();
+                await(read);
+                return readOnlyNode();
+            } finally {
+                routingDataSource.closeWriterScope();
+            }
+        });
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+        List<String> nodes = new ArrayList<>();
+        routingDataSource.openWriterScope(false, () -> { });
+        try {
+            nodes.add(readOnlyNode());
+            nodes.add(readOnlyNode());
+        } finally {
+            routingDataSource.closeWriterScope();
+        }
+        nodes.add(readOnlyNode());
+        read.countDown();
+
+        assertThat(nodes).containsExactly("replica-1", "replica-2", "replica-1");
+        assertThat(writer.get(10, TimeUnit.SECONDS)).isEqualTo("primary");
+    }
+
+    @Test
+    void aWriteSetsACookieThatSendsTheNextRequestsOfTheClientToThePrimary() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(routingDataSource, Duration.ofSeconds(5));
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/v1/posts"), writeResponse,
+                (request, response) -> readWriteNode());
+
+        Cookie cookie = writeResponse.getCookie(ReadYourWritesFilter.WROTE_COOKIE);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getMaxAge()).isEqualTo(5);
+
+        List<String> nodes = new ArrayList<>();
+        MockHttpServletRequest withCookie = new MockHttpServletRequest("GET", "/v1/posts");
+        withCookie.setCookies(cookie);
+        filter.doFilter(withCookie, new MockHttpServletResponse(), (request, response) -> nodes.add(readOnlyNode()));
+        MockHttpServletResponse readResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/posts"), readResponse,
+                (request, response) -> nodes.add(readOnlyNode()));
+
+        assertThat(nodes).containsExactly("primary", "replica-1");
+        assertThat(readResponse.getCookie(ReadYourWritesFilter.WROTE_COOKIE)).isNull();
+    }
+
+    @Test
+    void readsInsidePrimaryReadsUseThePrimary() {
+        assertThat(PrimaryReads.call(this::readOnlyNode)).isEqualTo("primary");
+        assertThat(readOnlyNode()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void responseCacheMissesUseTheReplicasExceptRightAfterAnEviction() throws Exception {
+        Duration maxLag = Duration.ofMillis(200);
+        PostResponseCache cache = new PostResponseCache(new LocalCacheInvalidationBus(), new SimpleMeterRegistry(),
+                DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+        PostResponseCacheFilter filter = new PostResponseCacheFilter(cache, DataSize.ofKilobytes(2), maxLag);
+        List<String> nodes = new ArrayList<>();
+
+        Thread.sleep(maxLag.toMillis());
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/posts"), new MockHttpServletResponse(),
+                (request, response) -> nodes.add(readOnlyNode()));
+        cache.evictAll();
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/posts"), new MockHttpServletResponse(),
+                (request, response) -> nodes.add(readOnlyNode()));
+
+        assertThat(nodes).containsExactly("replica-1", "primary");
+    }
+
+    @Test
+    void replicasLaggingTooFarBehindAreSkipped() {
+        new JdbcTemplate(replica1).update("UPDATE replica_lag SET seconds = 30");
+        routingDataSource.checkLag();
+
+        assertThat(routingDataSource.getLagSeconds("replica-1")).isEqualTo(30);
+        assertThat(readOnlyNode()).isEqualTo("replica-2");
+        assertThat(readOnlyNode()).isEqualTo("replica-2");
+
+        new JdbcTemplate(replica2).update("UPDATE replica_lag SET seconds = 30");
+        routingDataSource.checkLag();
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> node());
+    }
+
+    private String readWriteNode() {
+        return readWrite.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("routing-" + name)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        jdbcTemplate.update("INSERT INTO replica_lag VALUES (0)");
+        return database;
+    }
+}
@@ -0,0 +1,96 @@
+package com.dauphine.blogger_box_backend.controllers;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Runs the category endpoints on an embedded PostgreSQL migrated by Flyway, which holds the unique index on
+ * lower(name) that H2 schemas generated from the entities lack.
+ */
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureMockMvc
+class CategoryControllerTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void createRacingAConcurrentCreateOfTheSameNameIsAConflict() throws Exception {
+        try (Connection concurrent = dataSource.getConnection()) {
+            concurrent.setAutoCommit(false);
+            try (PreparedStatement insert = concurrent.prepareStatement(
+                    "INSERT INTO category (id, name, version) VALUES (?, 'Racing', 0)")) {
+                insert.setObject(1, UUID.randomUUID());
+                insert.executeUpdate();
+            }
+
+            // The uncommitted row is invisible to the existence check, so the request goes on to its INSERT,
+            // which waits on the unique index for the concurrent transaction to end.
+            CompletableFuture<MvcResult> create = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return mockMvc.perform(post("/v1/categories")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("{\"name\":\"racing\"}"))
+                            .andReturn();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            awaitBlockedInsert();
+            concurrent.commit();
+
+            assertThat(create.get(30, TimeUnit.SECONDS).getResponse().getStatus()).isEqualTo(409);
+        }
+    }
+
+    private void awaitBlockedInsert() throws InterruptedException {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (jdbc.queryForObject("""
+                SELECT count(*) FROM pg_stat_activity
+                WHERE wait_event_type = 'Lock' AND query LIKE 'insert into category%'
+                """, Long.class) == 0) {
+            assertThat(System.nanoTime()).as("insert blocked on the unique index").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.dauphine.blogger_box_backend.controllers;
+
+import com.dauphine.blogger_box_backend.cache.PostResponseCache;
+import com.dauphine.blogger_box_backend.dto.PostDTO;
+import com.dauphine.blogger_box_backend.exception.PostNotFoundException;
+import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.model.Post;
+import com.dauphine.blogger_box_backend.service.CategoryService;
+import com.dauphine.blogger_box_backend.service.PostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the post endpoints on H2, with the schema generated from the entities. The response cache is cleared
+ * before conditional requests so they reach the controller rather than the stored validators.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:post-controller;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "blogger.search.engine=memory",
+        "blogger.batch.max-size=200"
+})
+@AutoConfigureMockMvc
+class PostControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private PostResponseCache responseCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        category = categoryService.create("category-" + UUID.randomUUID());
+    }
+
+    @Test
+    void listingIsNotModifiedWhileItsETagMatches() throws Exception {
+        postService.createPost("title", "content", category.getId());
+        String etag = getPosts().getResponse().getHeader(HttpHeaders.ETAG);
+        responseCache.evictAll();
+
+        mockMvc.perform(get("/v1/posts").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void listingHasNoLastModifiedDateForADeleteToLeaveUnchanged() throws Exception {
+        Post oldest = postService.createPost("oldest", "content", category.getId());
+        postService.createPost("newest", "content", category.getId());
+        getPosts();
+        postService.deletePost(oldest.getId());
+
+        // Later than the latest update date, which the delete left as it was.
+        String later = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1));
+        mockMvc.perform(get("/v1/posts").header(HttpHeaders.IF_MODIFIED_SINCE, later))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void listingsSelectedByParametersWithTheSameHashCodeHaveDifferentETags() throws Exception {
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        String first = mockMvc.perform(get("/v1/posts").param("value", "Aa"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String second = mockMvc.perform(get("/v1/posts").param("value", "BB"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(first).isNotNull().isNotEqualTo(second);
+    }
+
+    @Test
+    void everyWriteChangesTheETagOfTheListing() throws Exception {
+        Post oldest = postService.createPost("oldest", "content", category.getId());
+        Post newest = postService.createPost("newest", "content", category.getId());
+        String created = getPosts().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Deleting a post other than the latest updated one leaves the latest update date as it was.
+        postService.deletePost(oldest.getId());
+        MvcResult afterDelete = mockMvc.perform(get("/v1/posts").header(HttpHeaders.IF_NONE_MATCH, created))
+                .andExpect(status().isOk())
+                .andReturn();
+        String deleted = afterDelete.getResponse().getHeader(HttpHeaders.ETAG);
+
+        postService.updatePost(newest.getId(), "renamed", null, null, null);
+        String updated = mockMvc.perform(get("/v1/posts").header(HttpHeaders.IF_NONE_MATCH, deleted))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(deleted).isNotEqualTo(created);
+        assertThat(updated).isNotIn(created, deleted);
+        assertThat(afterDelete.getResponse().getContentAsString()).doesNotContain(oldest.getId().toString());
+    }
+
+    @Test
+    void batchCreateWritesThePostsWithBatchedInserts() throws Exception {
+        List<PostDTO> items = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            items.add(new PostDTO(null, "title " + i, "content " + i, null, category.getId()));
+        }
+        double statementsBefore = batchCreateStatements();
+
+        mockMvc.perform(post("/v1/posts/batch").contentType(MediaType.APPLICATION_JSON).content(json(items)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(120))
+                .andExpect(jsonPath("$[*].status", everyItem(is(201))));
+
+        // One INSERT each for posts and events, executed in batches rather than per row, the post count, and two
+        // or three outbox sequence calls depending on the ids earlier tests left in the current block of 50.
+        // The category is cached.
+        assertThat(batchCreateStatements() - statementsBefore).isBetween(5.0, 6.0);
+    }
+
+    @Test
+    void batchItemsFailAloneWhenTheirPostOrCategoryDoesNotExist() throws Exception {
+        Post existing = postService.createPost("title", "content", category.getId());
+        UUID missing = UUID.randomUUID();
+
+        mockMvc.perform(post("/v1/posts/batch").contentType(MediaType.APPLICATION_JSON).content(json(List.of(
+                        new PostDTO(null, "created", "content", null, category.getId()),
+                        new PostDTO(null, "orphan", "content", null, missing)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].status").value(contains(201, 404)))
+                .andExpect(jsonPath("$[1].error").isNotEmpty());
+        mockMvc.perform(patch("/v1/posts/batch").contentType(MediaType.APPLICATION_JSON).content(json(List.of(
+                        new PostDTO(missing, "renamed", null, null, null),
+                        new PostDTO(existing.getId(), "renamed", null, null, null)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].status").value(contains(404, 200)))
+                .andExpect(jsonPath("$[0].id").value(missing.toString()));
+        mockMvc.perform(delete("/v1/posts/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content(json(List.of(existing.getId(), missing))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].status").value(contains(204, 404)));
+
+        assertThatThrownBy(() -> postService.getPostById(existing.getId())).isInstanceOf(PostNotFoundException.class);
+    }
+
+    @Test
+    void batchesOverTheMaximumSizeAreRejected() throws Exception {
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(201).toList();
+
+        mockMvc.perform(delete("/v1/posts/batch").contentType(MediaType.APPLICATION_JSON).content(json(ids)))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Statements counted by the QueryCountFilter for the requests of POST /v1/posts/batch.
+    private double batchCreateStatements() {
+        DistributionSummary summary = meterRegistry.find("blogger.requests.queries")
+                .tags("method", "POST", "uri", "/v1/posts/batch")
+                .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    private MvcResult getPosts() throws Exception {
+        return mockMvc.perform(get("/v1/posts"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+    }
+}
@@ -0,0 +1,185 @@
+package com.dauphine.blogger_box_backend.events;
+
+import com.dauphine.blogger_box_backend.model.ChangeType;
+import com.dauphine.blogger_box_backend.repository.OutboxEventRepository;
+import com.dauphine.blogger_box_backend.repository.OutboxRelayPositionRepository;
+import com.dauphine.blogger_box_backend.service.OutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Follows change events from the outbox through the relay to an in-process listener and to a resuming stream,
+ * on an embedded PostgreSQL migrated by Flyway. The scheduled relay is slowed down so that the tests drive it.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "blogger.outbox.relay-interval=1h"
+})
+@AutoConfigureMockMvc
+@Import(OutboxRelayTest.RecordingListener.class)
+class OutboxRelayTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository repository;
+
+    @Autowired
+    private OutboxRelayPositionRepository positionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void anEventCommittedLateFollowsTheEventsRelayedBeforeItAndIsReplayedAfterThem() throws Exception {
+        UUID early = UUID.randomUUID();
+        UUID late = UUID.randomUUID();
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        // Takes its id first, then commits after the other event has been relayed.
+        CompletableFuture<Void> lateTransaction = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    record(late);
+                    recorded.countDown();
+                    await(commit);
+                }));
+        assertThat(recorded.await(10, TimeUnit.SECONDS)).isTrue();
+        transactionTemplate.executeWithoutResult(status -> record(early));
+
+        relay.relay();
+        assertThat(listener.eventsOf(early, late)).extracting(ChangeEvent::aggregateId).containsExactly(early);
+
+        commit.countDown();
+        lateTransaction.get(10, TimeUnit.SECONDS);
+        relay.relay();
+
+        List<ChangeEvent> events = listener.eventsOf(early, late);
+        assertThat(events).extracting(ChangeEvent::aggregateId).containsExactly(early, late);
+        assertThat(events.get(1).id()).isGreaterThan(events.get(0).id());
+        assertThat(outboxIdOf(late)).isLessThan(outboxIdOf(early));
+
+        MvcResult stream = mockMvc.perform(get("/v1/events").header("Last-Event-ID", events.get(0).id()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(awaitContent(stream, late.toString()))
+                .contains("id:" + events.get(1).id() + "\nevent:post.created\n")
+                .doesNotContain(early.toString());
+    }
+
+    @Test
+    void eventsRelayedByAnotherNodeReachTheListenersOfThisOne() {
+        List<Object> otherNodeEvents = new CopyOnWriteArrayList<>();
+        OutboxRelay otherNode = new OutboxRelay(repository, positionRepository, transactionTemplate,
+                otherNodeEvents::add, new SimpleMeterRegistry(), 500, Duration.ofDays(7));
+        UUID aggregateId = UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> record(aggregateId));
+
+        otherNode.relay();
+        assertThat(listener.eventsOf(aggregateId)).isEmpty();
+        relay.relay();
+
+        assertThat(listener.eventsOf(aggregateId)).hasSize(1);
+        assertThat(otherNodeEvents).filteredOn(event -> ((ChangeEvent) event).aggregateId().equals(aggregateId))
+                .containsExactlyElementsOf(listener.eventsOf(aggregateId));
+    }
+
+    private void record(UUID aggregateId) {
+        outboxService.record(OutboxService.POST, aggregateId, ChangeType.CREATED, Map.of("id", aggregateId));
+    }
+
+    private long outboxIdOf(UUID aggregateId) {
+        return repository.findAll().stream()
+                .filter(event -> event.getAggregateId().equals(aggregateId))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingListener {
+
+        private final List<ChangeEvent> events = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void onChange(ChangeEvent event) {
+            events.add(event);
+        }
+
+        List<ChangeEvent> eventsOf(UUID... aggregateIds) {
+            Set<UUID> ids = Set.of(aggregateIds);
+            return events.stream().filter(event -> ids.contains(event.aggregateId())).toList();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.dauphine.blogger_box_backend.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseHubTest {
+
+    private static final int BUFFER_SIZE = 2;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SseHub hub = new SseHub("test", BUFFER_SIZE, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        hub.close();
+    }
+
+    @Test
+    void eventsReachEverySubscriberInOrder() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        hub.subscribe(first, false);
+        hub.subscribe(second, false);
+
+        publish(1);
+        publish(2);
+
+        for (RecordingEmitter emitter : Set.of(first, second)) {
+            assertThat(emitter.next()).startsWith("id:1\n");
+            assertThat(emitter.next()).startsWith("id:2\n");
+        }
+        assertThat(hub.getSubscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void aSubscriberWhoseBufferIsFullIsEvictedWithoutHoldingUpTheOthers() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(unblock);
+        RecordingEmitter fast = new RecordingEmitter();
+        hub.subscribe(slow, false);
+        hub.subscribe(fast, false);
+
+        publish(1);
+        assertThat(slow.next()).startsWith("id:1\n");
+        assertThat(fast.next()).startsWith("id:1\n");
+        // The slow subscriber is stuck sending event 1; events 2 and 3 fill its buffer and event 4 overflows it,
+        // while the fast one takes each event before the next is published.
+        for (int id = 2; id <= BUFFER_SIZE + 2; id++) {
+            publish(id);
+            assertThat(fast.next()).startsWith("id:" + id + "\n");
+        }
+
+        assertThat(slow.completed).isTrue();
+        assertThat(fast.completed).isFalse();
+        assertThat(hub.getSubscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("blogger.sse.evicted").tag("stream", "test").counter().count()).isEqualTo(1);
+
+        unblock.countDown();
+        publish(5);
+        assertThat(fast.next()).startsWith("id:5\n");
+        assertThat(slow.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void heartbeatsAreCommentLinesSentToEverySubscriber() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        hub.subscribe(first, false);
+        hub.subscribe(second, false);
+
+        hub.heartbeat();
+
+        assertThat(first.next()).isEqualTo(":heartbeat\n\n");
+        assertThat(second.next()).isEqualTo(":heartbeat\n\n");
+    }
+
+    @Test
+    void aPausedSubscriberGetsTheQueuedEventsOnResumeExceptThoseAlreadySent() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        SseHub.Subscriber subscriber = hub.subscribe(emitter, true);
+
+        publish(2);
+        publish(3);
+        assertThat(emitter.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+
+        assertThat(subscriber.send(event(1))).isTrue();
+        assertThat(subscriber.send(event(2))).isTrue();
+        subscriber.resume(id -> id <= 2);
+
+        assertThat(emitter.next()).startsWith("id:1\n");
+        assertThat(emitter.next()).startsWith("id:2\n");
+        assertThat(emitter.next()).startsWith("id:3\n");
+        assertThat(emitter.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    private void publish(long id) {
+        hub.publish(id, event(id));
+    }
+
+    private static SseEmitter.SseEventBuilder event(long id) {
+        return SseEmitter.event().id(Long.toString(id)).name("test").data("event " + id);
+    }
+
+    /**
+     * Records the text of each event sent, optionally blocking in the first send until released, as a client
+     * that stopped reading would.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch unblock;
+        private volatile boolean completed;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch unblock) {
+            this.unblock = unblock;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            sent.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        String next() throws InterruptedException {
+            String event = sent.poll(5, TimeUnit.SECONDS);
+            assertThat(event).as("event sent within 5 s").isNotNull();
+            return event;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.dauphine.blogger_box_backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    void carriesVersionVariantAndCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.generate();
+        long after = System.currentTimeMillis();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestamp(uuid)).isBetween(before, after + 1);
+    }
+
+    @Test
+    void increasesStrictlyWithinTheSameMillisecond() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            uuids.add(UuidV7.generate());
+        }
+
+        for (int i = 1; i < uuids.size(); i++) {
+            assertThat(uuids.get(i)).isGreaterThan(uuids.get(i - 1));
+        }
+    }
+
+    @Test
+    void staysUniqueAndOrderedPerThreadUnderContention() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        List<Future<List<UUID>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    List<UUID> uuids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        uuids.add(UuidV7.generate());
+                    }
+                    return uuids;
+                }));
+            }
+        }
+
+        Set<UUID> all = new HashSet<>();
+        for (Future<List<UUID>> future : futures) {
+            List<UUID> uuids = future.get();
+            for (int i = 1; i < uuids.size(); i++) {
+                assertThat(uuids.get(i)).isGreaterThan(uuids.get(i - 1));
+            }
+            all.addAll(uuids);
+        }
+        assertThat(all).hasSize(threads * perThread);
+    }
+}
@@ -0,0 +1,99 @@
+package com.dauphine.blogger_box_backend.repository;
+
+import com.dauphine.blogger_box_backend.model.Category;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Migrates an embedded PostgreSQL holding category names that differ only in case, which the schema allowed
+ * before the case-insensitive unique index.
+ */
+class CategoryNameMigrationTest {
+
+    private EmbeddedPostgres postgres;
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway("4").migrate();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void duplicateNamesAreRenamedBeforeTheUniqueIndexIsBuilt() {
+        UUID java = insertCategory("Java", 2);
+        UUID lowerJava = insertCategory("java", 0);
+        UUID cooking = insertCategory("Cooking", 0);
+
+        flyway(null).migrate();
+
+        assertThat(nameOf(java)).isEqualTo("Java");
+        assertThat(nameOf(lowerJava)).isEqualTo("java (" + lowerJava.toString().substring(0, 8) + ")");
+        assertThat(nameOf(cooking)).isEqualTo("Cooking");
+        assertThat(isValid(Category.NAME_UNIQUE_INDEX)).isTrue();
+    }
+
+    @Test
+    void anInvalidIndexLeftByAFailedBuildIsRebuilt() {
+        insertCategory("Java", 0);
+        insertCategory("java", 0);
+        assertThatThrownBy(() -> jdbcTemplate.execute(
+                "CREATE UNIQUE INDEX CONCURRENTLY uk_category_name_lower ON category (lower(name))"))
+                .isInstanceOf(DataAccessException.class);
+        assertThat(isValid(Category.NAME_UNIQUE_INDEX)).isFalse();
+
+        flyway(null).migrate();
+
+        assertThat(isValid(Category.NAME_UNIQUE_INDEX)).isTrue();
+        assertThatThrownBy(() -> insertCategory("JAVA", 0)).isInstanceOf(DataAccessException.class);
+    }
+
+    // Without the transactional lock, as configured for the application: the concurrent index builds would wait
+    // for the transaction holding it.
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .target(target == null ? "latest" : target)
+                .load();
+    }
+
+    private UUID insertCategory(String name, long postCount) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO category (id, name, post_count) VALUES (?, ?, ?)", id, name, postCount);
+        return id;
+    }
+
+    private String nameOf(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT name FROM category WHERE id = ?", String.class, id);
+    }
+
+    private boolean isValid(String index) {
+        List<Boolean> valid = jdbcTemplate.queryForList(
+                "SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = ?",
+                Boolean.class, index);
+        return valid.size() == 1 && valid.get(0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.dauphine.blogger_box_backend.repository;
+
+import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.model.Post;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CategoryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CategoryRepository repository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @Test
+    void deletingACategoryWithPostsDeletesNothingInASingleStatement() {
+        Category category = entityManager.persist(new Category("category"));
+        entityManager.persist(new Post("title", "content", category));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        int deleted = repository.deleteIfEmpty(category.getId());
+
+        assertThat(deleted).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(repository.existsById(category.getId())).isTrue();
+    }
+
+    @Test
+    void deletingAnEmptyCategoryIsASingleStatement() {
+        Category category = entityManager.persist(new Category("category"));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        int deleted = repository.deleteIfEmpty(category.getId());
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(repository.existsById(category.getId())).isFalse();
+    }
+
+    @Test
+    void decrementingThePostCountOfAPostIsASingleStatementThatDoesNotLoadThePost() {
+        Category category = entityManager.persist(new Category("category"));
+        Post post = entityManager.persist(new Post("title", "content", category));
+        entityManager.flush();
+        repository.adjustPostCount(category.getId(), 3);
+        entityManager.clear();
+        statistics.clear();
+
+        repository.decrementPostCountOf(post.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(entityManager.find(Category.class, category.getId()).getPostCount()).isEqualTo(2);
+    }
+}
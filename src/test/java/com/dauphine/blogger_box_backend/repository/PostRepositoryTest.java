@@ -0,0 +1,145 @@
+package com.dauphine.blogger_box_backend.repository;
+
+import com.dauphine.blogger_box_backend.dto.PostCursor;
+import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.model.Post;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class PostRepositoryTest {
+
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostRepository repository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @Test
+    void listingPostsIssuesASingleStatementWhateverTheNumberOfCategories() {
+        for (int i = 0; i < 20; i++) {
+            Category category = entityManager.persist(new Category("category-" + i));
+            entityManager.persist(new Post("title-" + i, "content-" + i, category));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<Post> posts = repository.findPage(MIN_DATE, PostCursor.FIRST.createdDate(),
+                PostCursor.FIRST.createdDate(), PostCursor.FIRST.id(), Limit.of(100));
+        posts.forEach(post -> assertThat(post.getCategory().getId()).isNotNull());
+
+        assertThat(posts).hasSize(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void keysetPagesCoverEveryPostOnceEvenWithIdenticalCreationDates() {
+        Category category = entityManager.persist(new Category("category"));
+        LocalDateTime createdDate = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < 7; i++) {
+            Post post = new Post("title-" + i, "content-" + i, category);
+            post.setCreatedDate(createdDate);
+            entityManager.persist(post);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Post> seen = new ArrayList<>();
+        PostCursor cursor = PostCursor.FIRST;
+        List<Post> page;
+        do {
+            page = repository.findPageByCategory(category, cursor.createdDate(), cursor.id(), Limit.of(3));
+            seen.addAll(page);
+            if (!page.isEmpty()) {
+                Post last = page.get(page.size() - 1);
+                cursor = new PostCursor(last.getCreatedDate(), last.getId());
+            }
+        } while (!page.isEmpty());
+
+        assertThat(seen).extracting(Post::getId).doesNotHaveDuplicates().hasSize(7);
+    }
+
+    @Test
+    void conditionalUpdateOnlyAppliesToTheExpectedVersionInOneStatement() {
+        Category category = entityManager.persist(new Category("category"));
+        Post post = entityManager.persist(new Post("title", "content", category));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        int stale = repository.updateIfVersion(post.getId(), post.getVersion() + 1, "stale", null, LocalDateTime.now());
+        int updated = repository.updateIfVersion(post.getId(), post.getVersion(), "title-2", null, LocalDateTime.now());
+
+        assertThat(stale).isZero();
+        assertThat(updated).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        Post reloaded = entityManager.find(Post.class, post.getId());
+        assertThat(reloaded.getTitle()).isEqualTo("title-2");
+        assertThat(reloaded.getContent()).isEqualTo("content");
+        assertThat(reloaded.getVersion()).isEqualTo(post.getVersion() + 1);
+    }
+
+    @Test
+    void deletingAPostByIdIsASingleStatementReportingWhetherItExisted() {
+        Category category = entityManager.persist(new Category("category"));
+        Post post = entityManager.persist(new Post("title", "content", category));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        int deleted = repository.deleteByIdReturningCount(post.getId());
+        int deletedAgain = repository.deleteByIdReturningCount(post.getId());
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(deletedAgain).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void deletingThePostsOfACategoryIsASingleStatement() {
+        Category category = entityManager.persist(new Category("category"));
+        Category other = entityManager.persist(new Category("other"));
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(new Post("title-" + i, "content-" + i, category));
+        }
+        entityManager.persist(new Post("kept", "content", other));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        int deleted = repository.deleteAllByCategoryId(category.getId());
+
+        assertThat(deleted).isEqualTo(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,277 @@
+package com.dauphine.blogger_box_backend.repository;
+
+import com.dauphine.blogger_box_backend.dto.PostCursor;
+import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.search.PostgresPostSearchEngine;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.SoftAssertions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.transaction.BeforeTransaction;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runs the Flyway migrations on an embedded PostgreSQL, then checks the generic plan of the SQL of every
+ * repository query against a seeded data set: each must go through the index it was written for.
+ * {@link PostRepository#streamAll} reads the whole table by design and is not checked, nor are the queries of the
+ * single-row outbox_relay_position table.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.dauphine.blogger_box_backend.repository.RepositoryQueryPlanTest$RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresPostSearchEngine.class)
+class RepositoryQueryPlanTest {
+
+    private static final int CATEGORIES = 2_000;
+    private static final int POSTS = 50_000;
+    private static final int OUTBOX_EVENTS = 20_000;
+
+    private static EmbeddedPostgres postgres;
+    private static boolean seeded;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PostgresPostSearchEngine searchEngine;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    // Committed outside of the test transactions, once for the class.
+    @BeforeTransaction
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("""
+                INSERT INTO category (id, name, version, post_count)
+                SELECT gen_random_uuid(), 'category-' || i, 0, ? FROM generate_series(1, ?) i
+                """, POSTS / CATEGORIES, CATEGORIES);
+        jdbc.update("""
+                WITH numbered AS (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM category)
+                INSERT INTO post (id, title, content, created_date, updated_date, version, category_id)
+                SELECT gen_random_uuid(), 'title ' || i, 'content ' || md5(i::text),
+                       now() - i * interval '1 minute', now() - i * interval '1 minute', 0, numbered.id
+                FROM generate_series(1, ?) i JOIN numbered ON numbered.n = i % ?
+                """, POSTS, CATEGORIES);
+        // Nearly all events are published, as they are between two relay runs.
+        jdbc.update("""
+                INSERT INTO outbox_event (id, aggregate_type, aggregate_id, type, payload, created_date, published_date,
+                                          stream_position)
+                SELECT i, 'Post', gen_random_uuid(), 'CREATED', '{}', now(), CASE WHEN i <= ? - 100 THEN now() END,
+                       CASE WHEN i <= ? - 100 THEN i END
+                FROM generate_series(1, ?) i
+                """, OUTBOX_EVENTS, OUTBOX_EVENTS, OUTBOX_EVENTS);
+        jdbc.execute("ANALYZE");
+        seeded = true;
+    }
+
+    @Test
+    void postQueriesUseTheirIndexes() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        UUID postId = jdbc.queryForObject("SELECT id FROM post LIMIT 1", UUID.class);
+        UUID categoryId = jdbc.queryForObject("SELECT id FROM category LIMIT 1", UUID.class);
+        Category category = entityManager.getReference(Category.class, categoryId);
+        LocalDateTime now = LocalDateTime.now();
+        PostCursor cursor = PostCursor.FIRST;
+
+        SoftAssertions softly = new SoftAssertions();
+        assertUses(softly, "findById",
+                () -> postRepository.findById(postId),
+                "post_pkey");
+        assertUses(softly, "findAllById",
+                () -> postRepository.findAllById(List.of(postId, UUID.randomUUID())),
+                "post_pkey");
+        assertUses(softly, "existsById",
+                () -> postRepository.existsById(postId),
+                "post_pkey");
+        assertUses(softly, "findPage",
+                () -> postRepository.findPage(now.minusDays(1), now, cursor.createdDate(), cursor.id(), Limit.of(20)),
+                "idx_post_created_date");
+        assertUses(softly, "findPageByCategory",
+                () -> postRepository.findPageByCategory(category, cursor.createdDate(), cursor.id(), Limit.of(20)),
+                "idx_post_category_created_date");
+        assertUses(softly, "findSummaryPage",
+                () -> postRepository.findSummaryPage(now.minusDays(1), now, cursor.createdDate(), cursor.id(),
+                        200, Limit.of(20)),
+                "idx_post_created_date");
+        assertUses(softly, "findSummaryPageByCategoryId",
+                () -> postRepository.findSummaryPageByCategoryId(categoryId, cursor.createdDate(), cursor.id(),
+                        200, Limit.of(20)),
+                "idx_post_category_created_date");
+        assertUses(softly, "findChangeStamp",
+                () -> postRepository.findChangeStamp(),
+                "idx_post_updated_date");
+        assertUses(softly, "findChangeStampByCategoryId",
+                () -> postRepository.findChangeStampByCategoryId(categoryId),
+                "idx_post_category_created_date");
+        assertUses(softly, "updateIfVersion",
+                () -> postRepository.updateIfVersion(postId, 0, "title", null, now),
+                "post_pkey");
+        assertUses(softly, "findIdsByCategoryId",
+                () -> postRepository.findIdsByCategoryId(categoryId),
+                "idx_post_category_created_date");
+        assertUses(softly, "findPageAfterId",
+                () -> postRepository.findPageAfterId(postId, Limit.of(1_000)),
+                "post_pkey");
+        assertUses(softly, "findCategoryIdsForUpdate",
+                () -> postRepository.findCategoryIdsForUpdate(List.of(postId, UUID.randomUUID())),
+                "post_pkey");
+        assertUses(softly, "deleteAllByIdReturningCount",
+                () -> postRepository.deleteAllByIdReturningCount(List.of(postId, UUID.randomUUID())),
+                "post_pkey");
+        assertUses(softly, "search",
+                () -> searchEngine.search("content", 0, 20),
+                "idx_post_fts");
+        assertUses(softly, "deleteAllByCategoryId",
+                () -> postRepository.deleteAllByCategoryId(categoryId),
+                "idx_post_category_created_date");
+        assertUses(softly, "deleteByIdReturningCount",
+                () -> postRepository.deleteByIdReturningCount(postId),
+                "post_pkey");
+        softly.assertAll();
+    }
+
+    @Test
+    void categoryQueriesUseTheirIndexes() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        UUID postId = jdbc.queryForObject("SELECT id FROM post LIMIT 1", UUID.class);
+        UUID categoryId = jdbc.queryForObject("SELECT id FROM category LIMIT 1", UUID.class);
+
+        SoftAssertions softly = new SoftAssertions();
+        assertUses(softly, "existsByNameIgnoreCase",
+                () -> categoryRepository.existsByNameIgnoreCase("Category-1"),
+                "uk_category_name_lower");
+        assertUses(softly, "findByIdForUpdate",
+                () -> categoryRepository.findByIdForUpdate(categoryId),
+                "category_pkey");
+        assertUses(softly, "adjustPostCount",
+                () -> categoryRepository.adjustPostCount(categoryId, 1),
+                "category_pkey");
+        assertUses(softly, "decrementPostCountOf",
+                () -> categoryRepository.decrementPostCountOf(postId),
+                "category_pkey", "post_pkey");
+        assertUses(softly, "deleteIfEmpty",
+                () -> categoryRepository.deleteIfEmpty(categoryId),
+                "category_pkey", "idx_post_category_created_date");
+        assertUses(softly, "findStats",
+                () -> categoryRepository.findStats(),
+                "idx_post_category_created_date");
+        softly.assertAll();
+    }
+
+    @Test
+    void outboxQueriesUseTheirIndexes() {
+        SoftAssertions softly = new SoftAssertions();
+        assertUses(softly, "findUnpublished",
+                () -> outboxEventRepository.findUnpublished(Limit.of(500)),
+                "idx_outbox_event_unpublished");
+        assertUses(softly, "findPublishedAfter",
+                () -> outboxEventRepository.findPublishedAfter(OUTBOX_EVENTS - 1_000, Limit.of(500)),
+                "idx_outbox_event_stream_position");
+        assertUses(softly, "findLastStreamPosition",
+                () -> outboxEventRepository.findLastStreamPosition(),
+                "idx_outbox_event_stream_position");
+        assertUses(softly, "deletePublishedBefore",
+                () -> outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(7)),
+                "idx_outbox_event_published_date");
+        softly.assertAll();
+    }
+
+    private void assertUses(SoftAssertions softly, String query, Runnable call, String... indexes) {
+        entityManager.clear();
+        RecordingStatementInspector.STATEMENTS.clear();
+        call.run();
+        List<String> statements = RecordingStatementInspector.STATEMENTS;
+        softly.assertThat(statements).as(query).isNotEmpty();
+        if (statements.isEmpty()) {
+            return;
+        }
+        // The statement of the query itself, before any loading of the results.
+        String sql = statements.get(0);
+        JsonNode plan = explain(sql);
+        softly.assertThat(plan.findValuesAsText("Index Name"))
+                .as("%s%n%s%n%s", query, sql, plan.toPrettyString())
+                .contains(indexes);
+    }
+
+    // A generic plan is the one of a prepared statement executed with any parameter values. The statement is sent
+    // with the simple query protocol, in which $n are left to EXPLAIN instead of being bound by the driver.
+    private JsonNode explain(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        String json = new JdbcTemplate(postgres.getPostgresDatabase(Map.of("preferQueryMode", "simple")))
+                .queryForObject("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numbered, String.class);
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.dauphine.blogger_box_backend.search;
+
+import com.dauphine.blogger_box_backend.model.Category;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryNameIndexTest {
+
+    private final Category java = new Category("Java");
+    private final Category javaTips = new Category("Java tips");
+    private final Category learningJava = new Category("Learning Java");
+    private final Category jave = new Category("Jave");
+    private final Category tipsForJava = new Category("Tips for Java");
+    private final Category cooking = new Category("Cooking");
+    private final List<Category> categories = List.of(cooking, tipsForJava, jave, learningJava, javaTips, java);
+    private final CategoryNameIndex index = new CategoryNameIndex(categories);
+
+    @Test
+    void ranksExactNamesThenPrefixesThenSubstringsThenSimilarNames() {
+        assertThat(index.search("JAVA", 10))
+                .containsExactly(java, javaTips, learningJava, tipsForJava, jave);
+    }
+
+    @Test
+    void queriesShorterThanThreeCharactersOnlyMatchNamePrefixes() {
+        assertThat(index.search("ja", 10)).containsExactly(java, javaTips, jave);
+        assertThat(index.search("av", 10)).isEmpty();
+    }
+
+    @Test
+    void everyWordOfTheQueryMustMatchAWordOfTheName() {
+        assertThat(index.search("java tips", 10)).containsExactly(javaTips, tipsForJava);
+        assertThat(index.search("java cooking", 10)).isEmpty();
+    }
+
+    @Test
+    void returnsTheBestMatchesUpToTheLimitAndAtLeastOne() {
+        assertThat(index.search("java", 2)).containsExactly(java, javaTips);
+        assertThat(index.search("java", 0)).containsExactly(java);
+        assertThat(index.search("ja", -1)).containsExactly(java);
+    }
+
+    @Test
+    void isBuiltFromTheVeryListItWasGiven() {
+        assertThat(index.isBuiltFrom(categories)).isTrue();
+        assertThat(index.isBuiltFrom(new ArrayList<>(categories))).isFalse();
+    }
+}
@@ -0,0 +1,179 @@
+package com.dauphine.blogger_box_backend.search;
+
+import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.model.Post;
+import com.dauphine.blogger_box_backend.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemoryPostSearchEngineTest {
+
+    private final Category category = new Category("category");
+    private final Map<UUID, Post> posts = new ConcurrentHashMap<>();
+    private final PostRepository repository = mock(PostRepository.class);
+    private final InMemoryPostSearchEngine engine = new InMemoryPostSearchEngine(repository);
+
+    InMemoryPostSearchEngineTest() {
+        when(repository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return ids.stream().map(posts::get).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void hitsContainEveryTermRegardlessOfCaseAndAccents() {
+        Post both = index("Un été à Paris", "Souvenirs de vacances");
+        index("Un été à Rome", "Souvenirs de vacances");
+        index("Paris en hiver", "Souvenirs de vacances");
+
+        assertThat(engine.search("ETE paris", 0, 10))
+                .extracting(hit -> hit.post().getId())
+                .containsExactly(both.getId());
+    }
+
+    @Test
+    void titleMatchesRankAboveContentMatchesAndShorterPostsAboveLongerOnes() {
+        Post inContent = index("Notes", "java tips");
+        Post inTitle = index("java", "tips");
+        Post inLongerContent = index("Notes", "java tips and many other words about unrelated subjects");
+
+        List<PostSearchHit> hits = engine.search("java", 0, 10);
+
+        assertThat(hits).extracting(hit -> hit.post().getId())
+                .containsExactly(inTitle.getId(), inContent.getId(), inLongerContent.getId());
+        assertThat(hits).extracting(PostSearchHit::score).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+    }
+
+    @Test
+    void rarerTermsWeighMore() {
+        for (int i = 0; i < 10; i++) {
+            index("filler " + i, "common");
+        }
+        Post mostlyRare = index("title", "rare rare common");
+        Post mostlyCommon = index("title", "rare common common");
+
+        assertThat(engine.search("rare common", 0, 10))
+                .extracting(hit -> hit.post().getId())
+                .containsExactly(mostlyRare.getId(), mostlyCommon.getId());
+    }
+
+    @Test
+    void pagesFollowTheRankingWithoutOverlap() {
+        for (int i = 0; i < 7; i++) {
+            index("post", "word ".repeat(i + 1));
+        }
+
+        List<UUID> all = engine.search("word", 0, 10).stream().map(hit -> hit.post().getId()).toList();
+        List<UUID> paged = new ArrayList<>();
+        for (int offset = 0; offset < 7; offset += 3) {
+            engine.search("word", offset, 3).forEach(hit -> paged.add(hit.post().getId()));
+        }
+
+        assertThat(all).hasSize(7);
+        assertThat(paged).isEqualTo(all);
+        assertThat(engine.search("word", 7, 3)).isEmpty();
+    }
+
+    @Test
+    void updatesReplaceThePreviousTermsAndRemovalsDropThePost() {
+        Post post = index("old title", "old content");
+
+        post.setTitle("new title");
+        post.setContent("new content");
+        engine.index(post);
+
+        assertThat(engine.search("old", 0, 10)).isEmpty();
+        assertThat(engine.search("new", 0, 10)).hasSize(1);
+
+        engine.remove(post.getId());
+
+        assertThat(engine.search("new", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void changesApplyOnlyOnceTheirTransactionCommits() {
+        Post committed = new Post("committed", "text", category);
+        Post rolledBack = new Post("rolled back", "text", category);
+        posts.put(committed.getId(), committed);
+        posts.put(rolledBack.getId(), rolledBack);
+
+        TransactionSynchronizationManager.initSynchronization();
+        engine.index(committed);
+        assertThat(engine.search("text", 0, 10)).isEmpty();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        TransactionSynchronizationManager.initSynchronization();
+        engine.index(rolledBack);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(engine.search("text", 0, 10))
+                .extracting(hit -> hit.post().getId())
+                .containsExactly(committed.getId());
+    }
+
+    @Test
+    void rebuildWalksEveryPostOnceInIdOrder() {
+        List<Post> stored = new ArrayList<>();
+        for (int i = 0; i < 2_500; i++) {
+            Post post = new Post("post " + i, "rebuilt", category);
+            posts.put(post.getId(), post);
+            stored.add(post);
+        }
+        // Ids are time-ordered with a positive most significant half, so Java and the database order them alike.
+        when(repository.findPageAfterId(any(), any())).thenAnswer(invocation -> {
+            UUID afterId = invocation.getArgument(0);
+            Limit limit = invocation.getArgument(1);
+            return stored.stream()
+                    .filter(post -> post.getId().compareTo(afterId) > 0)
+                    .sorted((a, b) -> a.getId().compareTo(b.getId()))
+                    .limit(limit.max())
+                    .toList();
+        });
+
+        engine.rebuild();
+
+        assertThat(engine.search("rebuilt", 0, 5_000))
+                .extracting(hit -> hit.post().getId())
+                .doesNotHaveDuplicates()
+                .hasSize(2_500);
+    }
+
+    @Test
+    void snippetsMarkTheMatchedTerms() {
+        index("title", "Un été à Paris, puis l'été suivant à Rome");
+
+        assertThat(engine.search("ete", 0, 10).get(0).snippet())
+                .isEqualTo("Un <mark>été</mark> à Paris, puis l&#39;<mark>été</mark> suivant à Rome");
+    }
+
+    private Post index(String title, String content) {
+        Post post = new Post(title, content, category);
+        posts.put(post.getId(), post);
+        engine.index(post);
+        return post;
+    }
+}
@@ -0,0 +1,90 @@
+package com.dauphine.blogger_box_backend.search;
+
+import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.model.Post;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the search query on an embedded PostgreSQL migrated by Flyway, with the text search configuration of the
+ * migrations.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresPostSearchEngine.class)
+class PostgresPostSearchEngineTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostgresPostSearchEngine searchEngine;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void matchesAndHighlightsTermsRegardlessOfCaseAndAccents() {
+        Category category = entityManager.persist(new Category("category"));
+        Post summer = entityManager.persist(new Post("Souvenirs", "Un Été à Paris", category));
+        entityManager.persist(new Post("Souvenirs", "Un hiver à Paris", category));
+        entityManager.flush();
+
+        List<PostSearchHit> hits = searchEngine.search("ete PARIS", 0, 10);
+
+        assertThat(hits).extracting(hit -> hit.post().getId()).containsExactly(summer.getId());
+        assertThat(hits.get(0).snippet()).contains("<mark>Été</mark> à <mark>Paris</mark>");
+    }
+
+    @Test
+    void escapesTheMarkupOfThePostInTheSnippet() {
+        Category category = entityManager.persist(new Category("category"));
+        // ts_headline drops well-formed tags but keeps a tag left open, as it keeps the control characters.
+        entityManager.persist(new Post("Piège", "java \u0002& <img src=x onerror=alert(1)// java", category));
+        entityManager.flush();
+
+        String snippet = searchEngine.search("java", 0, 10).get(0).snippet();
+
+        assertThat(snippet).isEqualTo("<mark>java</mark> &amp; &lt;img src=x onerror=alert(1)// <mark>java</mark>");
+    }
+
+    @Test
+    void ranksPostsMatchingMoreOftenFirst() {
+        Category category = entityManager.persist(new Category("category"));
+        Post once = entityManager.persist(new Post("Notes", "java", category));
+        Post twice = entityManager.persist(new Post("Java", "java", category));
+        entityManager.flush();
+
+        assertThat(searchEngine.search("java", 0, 10))
+                .extracting(hit -> hit.post().getId())
+                .containsExactly(twice.getId(), once.getId());
+        assertThat(searchEngine.search("java", 1, 10))
+                .extracting(hit -> hit.post().getId())
+                .containsExactly(once.getId());
+    }
+}
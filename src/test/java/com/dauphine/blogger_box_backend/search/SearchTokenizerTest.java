@@ -0,0 +1,37 @@
+package com.dauphine.blogger_box_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTokenizerTest {
+
+    @Test
+    void splitsOnAnythingButLettersAndDigits() {
+        assertThat(SearchTokenizer.tokenize("Hello, world! It's 2024-06... c++/java"))
+                .containsExactly("hello", "world", "it", "s", "2024", "06", "c", "java");
+    }
+
+    @Test
+    void lowerCasesAndRemovesAccents() {
+        assertThat(SearchTokenizer.tokenize("Été À NOËL, Ça déçoit"))
+                .containsExactly("ete", "a", "noel", "ca", "decoit");
+    }
+
+    @Test
+    void lowerCasesIndependentlyOfTheDefaultLocale() {
+        assertThat(SearchTokenizer.normalize("TITLE")).isEqualTo("title");
+    }
+
+    @Test
+    void keepsLettersOfOtherScripts() {
+        assertThat(SearchTokenizer.tokenize("Привет мир 東京"))
+                .containsExactly("привет", "мир", "東京");
+    }
+
+    @Test
+    void nullAndBlankTextHaveNoTerms() {
+        assertThat(SearchTokenizer.tokenize(null)).isEmpty();
+        assertThat(SearchTokenizer.tokenize(" ,;! ")).isEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package com.dauphine.blogger_box_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnippetHighlighterTest {
+
+    @Test
+    void marksEveryMatchedWordAsWritten() {
+        assertThat(SnippetHighlighter.highlight("Java et JAVA, pas javascript", Set.of("java")))
+                .isEqualTo("<mark>Java</mark> et <mark>JAVA</mark>, pas javascript");
+    }
+
+    @Test
+    void matchesWordsWithAccentsAgainstNormalizedTerms() {
+        assertThat(SnippetHighlighter.highlight("Un Été chaud", Set.of("ete")))
+                .isEqualTo("Un <mark>Été</mark> chaud");
+    }
+
+    @Test
+    void escapesTheMarkupOfTheText() {
+        assertThat(SnippetHighlighter.highlight("Le <script>java</script> & <img onerror=\"java\"> fin", Set.of("java")))
+                .isEqualTo("Le &lt;script&gt;<mark>java</mark>&lt;/script&gt; &amp; &lt;img onerror=&quot;<mark>java</mark>&quot;&gt; fin");
+    }
+
+    @Test
+    void cutsLongTextsAroundTheFirstMatch() {
+        String text = words(0, 50) + " needle " + words(50, 100);
+
+        String snippet = SnippetHighlighter.highlight(text, Set.of("needle"));
+
+        assertThat(snippet)
+                .startsWith("... w40 w41")
+                .contains("w49 <mark>needle</mark> w50")
+                .endsWith("w68 ...");
+        assertThat(snippet.split(" ")).hasSize(2 + 30);
+    }
+
+    @Test
+    void startsAtTheBeginningWithoutAMatch() {
+        String snippet = SnippetHighlighter.highlight(words(0, 100), Set.of("absent"));
+
+        assertThat(snippet).startsWith("w0 w1").endsWith("w29 ...").doesNotContain("<mark>");
+    }
+
+    @Test
+    void emptyTextHasAnEmptySnippet() {
+        assertThat(SnippetHighlighter.highlight(null, Set.of("java"))).isEmpty();
+        assertThat(SnippetHighlighter.highlight("", Set.of("java"))).isEmpty();
+        assertThat(SnippetHighlighter.highlight("...", Set.of("java"))).isEmpty();
+    }
+
+    private static String words(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "w" + i).collect(Collectors.joining(" "));
+    }
+}
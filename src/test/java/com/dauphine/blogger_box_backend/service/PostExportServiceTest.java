@@ -0,0 +1,100 @@
+package com.dauphine.blogger_box_backend.service;
+
+import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.model.Post;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@Import({PostExportService.class, JacksonAutoConfiguration.class})
+class PostExportServiceTest {
+
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2024, 3, 1, 10, 30, 15);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Post quoted;
+    private Post formula;
+    private Post uncategorized;
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persist(new Category("category"));
+        quoted = persist(new Post("Hello, \"world\"", "first line\nsecond line", category), 3);
+        formula = persist(new Post("=HYPERLINK(\"http://example.com\")", "-1+2", category), 2);
+        uncategorized = persist(new Post("plain", "@mention", null), 1);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void csvQuotesFieldsAndNeutralisesFormulas() throws IOException {
+        String csv = export(PostExportFormat.CSV);
+
+        assertThat(csv).isEqualTo("""
+                id,title,content,createdDate,categoryId
+                %s,"Hello, ""world""\","first line
+                second line",2024-03-04,%s
+                %s,"'=HYPERLINK(""http://example.com"")",'-1+2,2024-03-03,%s
+                %s,plain,'@mention,2024-03-02,
+                """.formatted(
+                quoted.getId(), quoted.getCategory().getId(),
+                formula.getId(), formula.getCategory().getId(),
+                uncategorized.getId()));
+    }
+
+    @Test
+    void ndjsonWritesOnePostPerLineWithTheDatesOfTheCsv() throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : export(PostExportFormat.NDJSON).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+
+        assertThat(lines).extracting(line -> line.get("id").asText())
+                .containsExactly(quoted.getId().toString(), formula.getId().toString(),
+                        uncategorized.getId().toString());
+        assertThat(lines).extracting(line -> line.get("createdDate").asText())
+                .containsExactly("2024-03-04", "2024-03-03", "2024-03-02");
+        assertThat(lines.get(0).get("title").asText()).isEqualTo("Hello, \"world\"");
+        assertThat(lines.get(0).get("content").asText()).isEqualTo("first line\nsecond line");
+        assertThat(lines.get(1).get("title").asText()).isEqualTo("=HYPERLINK(\"http://example.com\")");
+        assertThat(lines.get(2).get("categoryId").isNull()).isTrue();
+    }
+
+    private Post persist(Post post, int daysAfterCreatedDate) {
+        post.setCreatedDate(CREATED_DATE.plusDays(daysAfterCreatedDate));
+        return entityManager.persist(post);
+    }
+
+    private String export(PostExportFormat format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.export(format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
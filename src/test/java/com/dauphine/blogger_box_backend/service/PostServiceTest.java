@@ -0,0 +1,151 @@
+package com.dauphine.blogger_box_backend.service;
+
+import com.dauphine.blogger_box_backend.dto.BatchItemResultDTO;
+import com.dauphine.blogger_box_backend.model.Category;
+import com.dauphine.blogger_box_backend.model.Post;
+import com.dauphine.blogger_box_backend.repository.CategoryRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the post writes on an embedded PostgreSQL migrated by Flyway, where concurrent transactions lock rows
+ * as they do in production.
+ */
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+class PostServiceTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void batchDeleteTakesEachDeletedPostOffItsCategoryOnce() throws Exception {
+        Category first = newCategory();
+        Category second = newCategory();
+        Post kept = postService.createPost("kept", "content", first.getId());
+        Post deleted = postService.createPost("deleted", "content", first.getId());
+        Post other = postService.createPost("other", "content", second.getId());
+
+        List<BatchItemResultDTO> results = postService.deletePosts(
+                Arrays.asList(deleted.getId(), other.getId(), deleted.getId(), UUID.randomUUID(), null));
+
+        assertThat(results).extracting(BatchItemResultDTO::getStatus).containsExactly(204, 204, 204, 404, 404);
+        assertThat(postCount(first)).isEqualTo(1);
+        assertThat(postCount(second)).isZero();
+        assertThat(postService.deletePosts(List.of(kept.getId()))).extracting(BatchItemResultDTO::getStatus)
+                .containsExactly(204);
+        assertThat(postCount(first)).isZero();
+    }
+
+    @Test
+    void batchDeleteTakesAMovedPostOffItsNewCategory() throws Exception {
+        Category first = newCategory();
+        Category second = newCategory();
+        Post post = postService.createPost("title", "content", first.getId());
+        postService.updatePost(post.getId(), null, null, second.getId(), null);
+
+        postService.deletePosts(List.of(post.getId()));
+
+        assertThat(postCount(first)).isZero();
+        assertThat(postCount(second)).isZero();
+    }
+
+    @Test
+    void racingBatchDeletesDeleteEachPostOnce() throws Exception {
+        Category category = newCategory();
+        Post first = postService.createPost("first", "content", category.getId());
+        Post shared = postService.createPost("shared", "content", category.getId());
+        Post last = postService.createPost("last", "content", category.getId());
+        CountDownLatch deleted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        CompletableFuture<List<BatchItemResultDTO>> holding = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<BatchItemResultDTO> results = postService.deletePosts(List.of(first.getId(), shared.getId()));
+                    deleted.countDown();
+                    await(commit);
+                    return results;
+                }));
+        await(deleted);
+        // Waits on the row lock of the shared post until the first batch commits.
+        CompletableFuture<List<BatchItemResultDTO>> racing = CompletableFuture.supplyAsync(() ->
+                postService.deletePosts(List.of(shared.getId(), last.getId())));
+        awaitBlockedLock();
+        commit.countDown();
+
+        assertThat(holding.get(30, TimeUnit.SECONDS)).extracting(BatchItemResultDTO::getStatus)
+                .containsExactly(204, 204);
+        assertThat(racing.get(30, TimeUnit.SECONDS)).extracting(BatchItemResultDTO::getStatus)
+                .containsExactly(404, 204);
+        assertThat(postCount(category)).isZero();
+    }
+
+    private Category newCategory() throws Exception {
+        return categoryService.create("category-" + UUID.randomUUID());
+    }
+
+    private long postCount(Category category) {
+        return categoryRepository.findById(category.getId()).orElseThrow().getPostCount();
+    }
+
+    private void awaitBlockedLock() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Long.class) == 0) {
+            assertThat(System.nanoTime()).as("batch blocked on a row lock").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}